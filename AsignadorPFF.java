@@ -0,0 +1,157 @@
+import java.util.*;
+
+/**
+ * Asignación dinámica de marcos por frecuencia de fallos (ASIGNACION=pff)
+ *
+ * Cada INTERVALO turnos mide la tasa de fallos reciente de cada proceso vivo, en
+ * una ventana deslizante de los últimos SEGMENTOS intervalos. Los procesos con
+ * tasa mayor que ALTO reciben un marco de los que tienen tasa menor que BAJO:
+ * se emparejan el de mayor tasa con el de menor, el segundo con el segundo, etc.,
+ * con dos montículos. Cuando un proceso termina, sus marcos se reparten de a uno
+ * al proceso con más fallos recientes por marco.
+ */
+public class AsignadorPFF {
+    
+    private static final int SEGMENTOS = 4; // Intervalos que abarca la ventana
+    private static final int MARCOS_MINIMOS = 1; // Un proceso nunca cede su último marco
+    
+    private final GestorMemoria gestor;
+    private final List<Proceso> procesos;
+    private final long intervalo;
+    private final double alto;
+    private final double bajo;
+    private final long[][] fallosPrevios;      // id proceso -> fallos al inicio de cada segmento de la ventana
+    private final long[][] referenciasPrevias; // id proceso -> referencias al inicio de cada segmento
+    private final double[] tasa;     // id proceso -> tasa de fallos en la ventana (último reequilibrio)
+    private final double[] presion;  // id proceso -> fallos en la ventana por marco (al repartir)
+    private int segmento;            // Segmento más antiguo de la ventana, el próximo a reemplazar
+    private long proximoReequilibrio;
+    private long reequilibrios;
+    private long marcosMovidos;
+    private RegistroEventos registro;
+    
+    /**
+     * @param intervalo Turnos entre reequilibrios
+     * @param alto Tasa de fallos sobre la cual un proceso recibe marcos
+     * @param bajo Tasa de fallos bajo la cual un proceso cede marcos
+     */
+    public AsignadorPFF(GestorMemoria gestor, List<Proceso> procesos, long intervalo, double alto, double bajo) {
+        if (intervalo <= 0 || bajo < 0 || alto <= bajo || alto > 1) {
+            throw new IllegalArgumentException("Error: INTERVALO debe ser positivo y 0 <= PFF_BAJO < PFF_ALTO <= 1");
+        }
+        this.gestor = gestor;
+        this.procesos = procesos;
+        this.intervalo = intervalo;
+        this.alto = alto;
+        this.bajo = bajo;
+        this.fallosPrevios = new long[procesos.size()][SEGMENTOS];
+        this.referenciasPrevias = new long[procesos.size()][SEGMENTOS];
+        this.tasa = new double[procesos.size()];
+        this.presion = new double[procesos.size()];
+        this.proximoReequilibrio = intervalo;
+        this.registro = RegistroEventos.NINGUNO;
+    }
+    
+    /**
+     * Reequilibra los marcos si el turno llegó al fin del intervalo actual
+     */
+    public void avanzar(long turno) {
+        if (turno >= proximoReequilibrio) {
+            reequilibrar(turno);
+            proximoReequilibrio = turno + intervalo;
+        }
+    }
+    
+    /**
+     * Mueve un marco de cada proceso con pocos fallos recientes a uno con muchos
+     */
+    private void reequilibrar(long turno) {
+        reequilibrios++;
+        PriorityQueue<Proceso> receptores = new PriorityQueue<>(
+            (a, b) -> Double.compare(tasa[b.getId()], tasa[a.getId()]));
+        PriorityQueue<Proceso> donantes = new PriorityQueue<>(
+            (a, b) -> Double.compare(tasa[a.getId()], tasa[b.getId()]));
+        for (Proceso proceso : procesos) {
+            int id = proceso.getId();
+            long fallos = proceso.getTotalFallosPagina() - fallosPrevios[id][segmento];
+            long referencias = proceso.getTotalReferencias() - referenciasPrevias[id][segmento];
+            fallosPrevios[id][segmento] = proceso.getTotalFallosPagina();
+            referenciasPrevias[id][segmento] = proceso.getTotalReferencias();
+            if (proceso.haTerminado() || referencias == 0) {
+                continue;
+            }
+            tasa[id] = (double) fallos / referencias;
+            if (tasa[id] > alto) {
+                receptores.add(proceso);
+            } else if (tasa[id] < bajo && gestor.getMarcosProceso(id) > MARCOS_MINIMOS) {
+                donantes.add(proceso);
+            }
+        }
+        segmento = (segmento + 1) % SEGMENTOS;
+        
+        while (!receptores.isEmpty() && !donantes.isEmpty()) {
+            Proceso destino = receptores.poll();
+            Proceso origen = donantes.poll();
+            if (gestor.cederMarco(origen, destino) != -1) {
+                marcosMovidos++;
+                if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                    registro.marcoMovido(turno, origen.getId(), destino.getId());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Libera los marcos de un proceso que terminó y los reparte de a uno entre los
+     * procesos vivos, cada vez al que tiene más fallos recientes por marco
+     */
+    public void procesoTerminado(Proceso terminado) {
+        Set<Integer> marcosLiberados = terminado.obtenerMarcosAsignados();
+        gestor.liberarMarcos(marcosLiberados);
+        
+        PriorityQueue<Proceso> candidatos = new PriorityQueue<>((a, b) -> {
+            int comparacion = Double.compare(presion[b.getId()], presion[a.getId()]);
+            return comparacion != 0 ? comparacion
+                                    : Integer.compare(gestor.getMarcosProceso(a.getId()), gestor.getMarcosProceso(b.getId()));
+        });
+        for (Proceso proceso : procesos) {
+            if (proceso != terminado && !proceso.haTerminado()) {
+                actualizarPresion(proceso);
+                candidatos.add(proceso);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                registro.marcosSinProceso();
+            }
+            return;
+        }
+        
+        for (int marco : marcosLiberados) {
+            Proceso destino = candidatos.poll();
+            gestor.entregarMarcoLibre(marco, destino);
+            actualizarPresion(destino);
+            candidatos.add(destino);
+        }
+    }
+    
+    /**
+     * Fallos de la ventana por marco que tiene el proceso
+     */
+    private void actualizarPresion(Proceso proceso) {
+        int id = proceso.getId();
+        long fallos = proceso.getTotalFallosPagina() - fallosPrevios[id][segmento];
+        presion[id] = (double) fallos / Math.max(gestor.getMarcosProceso(id), 1);
+    }
+    
+    /**
+     * Fija el registro que recibe los mensajes de marcos movidos
+     */
+    public void setRegistro(RegistroEventos registro) {
+        this.registro = registro;
+    }
+    
+    // Getters
+    public long getReequilibrios() { return reequilibrios; }
+    public long getMarcosMovidos() { return marcosMovidos; }
+}
@@ -0,0 +1,175 @@
+import java.util.*;
+
+/**
+ * Control de carga (CONTROL_CARGA=si): detecta la hiperpaginación por la tasa de
+ * fallos de todos los procesos activos y suspende procesos hasta que baja
+ *
+ * Cada INTERVALO turnos mide la tasa de fallos conjunta del intervalo. Si supera
+ * CARGA_ALTA y hay más de un proceso activo, suspende el que tuvo más fallos: sale
+ * de la cola, sus páginas salen de memoria (las modificadas cuentan una escritura
+ * SWAP) y sus marcos se reparten de a uno entre los activos que tienen menos.
+ * Cuando termina un proceso, sus marcos pasan al que lleva más tiempo suspendido,
+ * que se reanuda. Si la tasa baja de CARGA_BAJA también se reanuda uno, pero solo
+ * si quedan menos procesos activos que cuando se detectó la última hiperpaginación;
+ * así no se vuelve enseguida a la carga que la causó. El reanudado recibe marcos de
+ * los activos que tienen más, hasta su parte de la memoria.
+ */
+public class ControlCarga {
+    
+    private final GestorMemoria gestor;
+    private final List<Proceso> procesos;
+    private final long intervalo;
+    private final double alta;
+    private final double baja;
+    private final long[] fallosPrevios;      // id proceso -> fallos al inicio del intervalo
+    private final long[] referenciasPrevias; // id proceso -> referencias al inicio del intervalo
+    private final ArrayDeque<Proceso> suspendidos; // En orden de suspensión
+    private long proximaRevision;
+    private int activosHiperpaginacion; // Procesos activos en la última suspensión
+    private long suspensiones;
+    private RegistroEventos registro;
+    
+    /**
+     * @param intervalo Turnos entre revisiones de la tasa de fallos
+     * @param alta Tasa de fallos conjunta sobre la cual se suspende un proceso
+     * @param baja Tasa de fallos conjunta bajo la cual se reanuda uno
+     */
+    public ControlCarga(GestorMemoria gestor, List<Proceso> procesos, long intervalo, double alta, double baja) {
+        if (intervalo <= 0 || baja < 0 || alta <= baja || alta > 1) {
+            throw new IllegalArgumentException("Error: INTERVALO debe ser positivo y 0 <= CARGA_BAJA < CARGA_ALTA <= 1");
+        }
+        this.gestor = gestor;
+        this.procesos = procesos;
+        this.intervalo = intervalo;
+        this.alta = alta;
+        this.baja = baja;
+        this.fallosPrevios = new long[procesos.size()];
+        this.referenciasPrevias = new long[procesos.size()];
+        this.suspendidos = new ArrayDeque<>();
+        this.proximaRevision = intervalo;
+        this.activosHiperpaginacion = Integer.MAX_VALUE;
+        this.registro = RegistroEventos.NINGUNO;
+    }
+    
+    /**
+     * Revisa la carga si el turno llegó al fin del intervalo actual
+     * @param cola Cola de procesos activos, de la que salen y a la que vuelven los suspendidos
+     */
+    public void avanzar(long turno, Planificador cola) {
+        if (turno < proximaRevision) {
+            return;
+        }
+        proximaRevision = turno + intervalo;
+        
+        long fallos = 0;
+        long referencias = 0;
+        Proceso masFallos = null;
+        long maximo = -1;
+        for (Proceso proceso : procesos) {
+            int id = proceso.getId();
+            long fallosIntervalo = proceso.getTotalFallosPagina() - fallosPrevios[id];
+            fallos += fallosIntervalo;
+            referencias += proceso.getTotalReferencias() - referenciasPrevias[id];
+            fallosPrevios[id] = proceso.getTotalFallosPagina();
+            referenciasPrevias[id] = proceso.getTotalReferencias();
+            if (!proceso.estaSuspendido() && !proceso.haTerminado() && fallosIntervalo >= maximo) { // En empate, el último
+                maximo = fallosIntervalo;
+                masFallos = proceso;
+            }
+        }
+        if (referencias == 0) {
+            return;
+        }
+        
+        double tasa = (double) fallos / referencias;
+        if (tasa > alta && cola.tamano() > 1 && masFallos != null) {
+            suspender(masFallos, turno, cola);
+        } else if (tasa < baja && !suspendidos.isEmpty() && cola.tamano() + 1 < activosHiperpaginacion) {
+            reanudar(turno, cola, Collections.emptySet());
+        }
+    }
+    
+    /**
+     * Un proceso terminó: si hay suspendidos, sus marcos pasan al que lleva más
+     * tiempo suspendido, que se reanuda
+     */
+    public void procesoTerminado(Proceso terminado, long turno, Planificador cola) {
+        if (suspendidos.isEmpty()) {
+            return;
+        }
+        Set<Integer> marcosLiberados = terminado.obtenerMarcosAsignados();
+        gestor.liberarMarcos(marcosLiberados);
+        terminado.liberarMarcos(marcosLiberados);
+        reanudar(turno, cola, marcosLiberados);
+    }
+    
+    /**
+     * Saca un proceso de la cola y de la memoria y reparte sus marcos entre los activos
+     */
+    private void suspender(Proceso proceso, long turno, Planificador cola) {
+        activosHiperpaginacion = cola.tamano();
+        cola.quitar(proceso);
+        Set<Integer> marcos = proceso.obtenerMarcosAsignados();
+        proceso.suspender(turno, gestor.liberarMarcos(marcos));
+        proceso.liberarMarcos(marcos);
+        suspendidos.addLast(proceso);
+        suspensiones++;
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            registro.procesoSuspendido(turno, proceso.getId());
+        }
+        
+        PriorityQueue<Proceso> destinos = new PriorityQueue<>(
+            (a, b) -> Integer.compare(gestor.getMarcosProceso(a.getId()), gestor.getMarcosProceso(b.getId())));
+        for (Proceso activo : cola) {
+            destinos.add(activo);
+        }
+        for (int marco : marcos) {
+            Proceso destino = destinos.poll();
+            gestor.entregarMarcoLibre(marco, destino);
+            destinos.add(destino);
+        }
+    }
+    
+    /**
+     * Vuelve a la cola el proceso que lleva más tiempo suspendido, con los marcos
+     * libres dados y, si no le alcanzan para su parte de la memoria, marcos que
+     * ceden los activos que tienen más
+     */
+    private void reanudar(long turno, Planificador cola, Set<Integer> marcosLibres) {
+        Proceso proceso = suspendidos.pollFirst();
+        proceso.reanudar(turno);
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            registro.procesoReanudado(turno, proceso.getId());
+        }
+        for (int marco : marcosLibres) {
+            gestor.entregarMarcoLibre(marco, proceso);
+        }
+        
+        int parte = Math.max(gestor.getTotalMarcos() / (cola.tamano() + 1), 1);
+        PriorityQueue<Proceso> origenes = new PriorityQueue<>(
+            (a, b) -> Integer.compare(gestor.getMarcosProceso(b.getId()), gestor.getMarcosProceso(a.getId())));
+        for (Proceso activo : cola) {
+            origenes.add(activo);
+        }
+        while (gestor.getMarcosProceso(proceso.getId()) < parte && !origenes.isEmpty()) {
+            Proceso origen = origenes.poll();
+            if (gestor.getMarcosProceso(origen.getId()) <= gestor.getMarcosProceso(proceso.getId()) + 1) {
+                break;
+            }
+            gestor.cederMarco(origen, proceso);
+            origenes.add(origen);
+        }
+        cola.agregar(proceso);
+    }
+    
+    /**
+     * Fija el registro que recibe los mensajes de suspensión y reanudación
+     */
+    public void setRegistro(RegistroEventos registro) {
+        this.registro = registro;
+    }
+    
+    // Getters
+    public long getSuspensiones() { return suspensiones; }
+    public int getSuspendidos() { return suspendidos.size(); }
+}
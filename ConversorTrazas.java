@@ -0,0 +1,125 @@
+import java.io.*;
+
+/**
+ * Conversión sin pérdida entre el formato de texto de los archivos de proceso
+ * (M1:[i-j],pagina,offset,r) y el formato binario de FormatoTrazaBinaria
+ * 
+ * Uso: java ConversorTrazas <entrada> <salida>
+ * El sentido de la conversión se deduce del formato del archivo de entrada
+ */
+public class ConversorTrazas {
+    
+    private static final String[] CAMPOS_ENCABEZADO = {"TP", "NF", "NC", "NR", "NP"};
+    
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: java ConversorTrazas <entrada> <salida>");
+            return;
+        }
+        
+        try {
+            if (FormatoTrazaBinaria.esTrazaBinaria(new File(args[0]))) {
+                binarioATexto(args[0], args[1]);
+                System.out.println("Archivo convertido a texto: " + args[1]);
+            } else {
+                textoABinario(args[0], args[1]);
+                System.out.println("Archivo convertido a binario: " + args[1]);
+            }
+        } catch (Exception e) {
+            System.err.println("Error durante la conversión: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Convierte un archivo de proceso de texto a binario
+     */
+    public static void textoABinario(String archivoTexto, String archivoBinario) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(archivoTexto));
+        
+        try {
+            // Encabezado: TP=, NF=, NC=, NR=, NP=
+            long[] encabezado = new long[CAMPOS_ENCABEZADO.length];
+            for (int i = 0; i < CAMPOS_ENCABEZADO.length; i++) {
+                String linea = reader.readLine();
+                String prefijo = CAMPOS_ENCABEZADO[i] + "=";
+                if (linea == null || !linea.startsWith(prefijo)) {
+                    throw new IOException("Línea " + (i + 1) + ": se esperaba " + prefijo);
+                }
+                encabezado[i] = Long.parseLong(linea.substring(prefijo.length()));
+                if (i != 3 && encabezado[i] > Integer.MAX_VALUE) {
+                    throw new IOException("Línea " + (i + 1) + ": " + CAMPOS_ENCABEZADO[i] + " fuera de rango");
+                }
+            }
+            
+            EscritorTrazaBinaria escritor = new EscritorTrazaBinaria(archivoBinario,
+                (int) encabezado[0], (int) encabezado[1], (int) encabezado[2], encabezado[3], (int) encabezado[4]);
+            try {
+                String linea;
+                int numeroLinea = CAMPOS_ENCABEZADO.length;
+                while ((linea = reader.readLine()) != null) {
+                    numeroLinea++;
+                    escribirReferencia(escritor, linea, numeroLinea);
+                }
+            } finally {
+                escritor.close();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+    
+    /**
+     * Interpreta una línea M<k>:[i-j],pagina,offset,r|w y la escribe en formato binario
+     */
+    private static void escribirReferencia(EscritorTrazaBinaria escritor, String linea, int numeroLinea) throws IOException {
+        try {
+            int dosPuntos = linea.indexOf(':');
+            int guion = linea.indexOf('-', dosPuntos);
+            int cierre = linea.indexOf(']', guion);
+            String[] partes = linea.substring(cierre + 2).split(",");
+            if (linea.charAt(0) != 'M' || linea.charAt(dosPuntos + 1) != '[' || linea.charAt(cierre + 1) != ','
+                    || partes.length != 3 || !(partes[2].equals("r") || partes[2].equals("w"))) {
+                throw new IOException("Línea " + numeroLinea + " mal formada: " + linea);
+            }
+            escritor.escribir(
+                Integer.parseInt(linea.substring(1, dosPuntos)),
+                Integer.parseInt(linea.substring(dosPuntos + 2, guion)),
+                Integer.parseInt(linea.substring(guion + 1, cierre)),
+                Integer.parseInt(partes[0]),
+                Integer.parseInt(partes[1]),
+                partes[2].equals("w"));
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Línea " + numeroLinea + " mal formada: " + linea, e);
+        }
+    }
+    
+    /**
+     * Convierte un archivo de proceso binario a texto, con el mismo formato de la Opción 1
+     */
+    public static void binarioATexto(String archivoBinario, String archivoTexto) throws IOException {
+        CursorTrazaBinaria cursor = new CursorTrazaBinaria(archivoBinario, 1);
+        PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(archivoTexto), 1 << 16));
+        
+        try {
+            writer.println("TP=" + cursor.getTamanoPaginaArchivo());
+            writer.println("NF=" + cursor.getNumeroFilas());
+            writer.println("NC=" + cursor.getNumeroColumnas());
+            writer.println("NR=" + cursor.getNumeroReferencias());
+            writer.println("NP=" + cursor.getNumeroPaginas());
+            
+            while (cursor.hayMas()) {
+                writer.println("M" + cursor.getMatriz() + ":[" + cursor.getFila() + "-" + cursor.getColumna() + "]," +
+                    cursor.getPagina() + "," + cursor.getOffset() + "," + (cursor.esEscritura() ? "w" : "r"));
+                cursor.avanzar();
+            }
+            
+            if (writer.checkError()) {
+                throw new IOException("Error escribiendo " + archivoTexto);
+            }
+        } finally {
+            writer.close();
+            cursor.cerrar();
+        }
+    }
+}
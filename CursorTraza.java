@@ -0,0 +1,341 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cursor de lectura secuencial sobre un archivo de proceso (procN.txt)
+ * Lee el encabezado al abrir el archivo y entrega las direcciones virtuales
+ * una a una, manteniendo en memoria solo un bloque acotado de ellas
+ * 
+ * Las líneas se interpretan directamente sobre los bytes leídos del canal,
+ * sin crear un String por línea
+ */
+public class CursorTraza implements FuenteDirecciones {
+    
+    private static final int TAMANO_BLOQUE = 4096; // direcciones por bloque
+    private static final int TAMANO_BUFFER = 1 << 16; // bytes leídos por operación
+    private static final int LINEAS_ENCABEZADO = 5;
+    
+    private String nombreArchivo;
+    private FileChannel canal;
+    private byte[] datos;
+    private ByteBuffer buffer;
+    private int inicioPendiente; // primer byte aún no interpretado
+    private int finDatos;        // fin de los bytes válidos en datos
+    private boolean finArchivo;
+    private int numeroLinea;
+    private int inicioLinea;
+    private int finLinea;
+    
+    private int tamanoPagina;
+    private int tamanoPaginaArchivo;  // TP
+    private int numeroFilas;          // NF
+    private int numeroColumnas;       // NC
+    private long numeroReferencias;   // NR
+    private int numeroPaginas;        // NP
+    private long[] bloque;            // direcciones del bloque
+    private int[] paginasBloque;      // página de cada dirección del bloque
+    private boolean[] escriturasBloque; // si cada dirección del bloque es una escritura
+    private int[] matricesBloque;       // matriz (k en M<k>) de cada dirección del bloque
+    private int posicion;
+    private int limite;
+    
+    /**
+     * Abre el archivo y lee su encabezado
+     * @param nombreArchivo Archivo generado por la Opción 1
+     * @param tamanoPagina Tamaño de página con el que se reconstruyen las direcciones
+     */
+    public CursorTraza(String nombreArchivo, int tamanoPagina) throws IOException {
+        this.nombreArchivo = nombreArchivo;
+        this.tamanoPagina = tamanoPagina;
+        this.canal = FileChannel.open(new File(nombreArchivo).toPath(), StandardOpenOption.READ);
+        this.datos = new byte[TAMANO_BUFFER];
+        this.buffer = ByteBuffer.wrap(datos);
+        this.bloque = new long[TAMANO_BLOQUE];
+        this.paginasBloque = new int[TAMANO_BLOQUE];
+        this.escriturasBloque = new boolean[TAMANO_BLOQUE];
+        this.matricesBloque = new int[TAMANO_BLOQUE];
+        this.posicion = 0;
+        this.limite = 0;
+        
+        try {
+            leerEncabezado();
+            llenarBloque();
+        } catch (IOException | RuntimeException e) {
+            cerrar();
+            throw e;
+        }
+    }
+    
+    /**
+     * Lee las primeras 5 líneas (TP=, NF=, NC=, NR=, NP=)
+     */
+    private void leerEncabezado() throws IOException {
+        for (int i = 0; i < LINEAS_ENCABEZADO && siguienteLinea(); i++) {
+            int igual = buscar((byte) '=', inicioLinea, finLinea);
+            if (igual == -1 || igual - inicioLinea != 2) {
+                continue;
+            }
+            byte a = datos[inicioLinea];
+            byte b = datos[inicioLinea + 1];
+            boolean esNR = a == 'N' && b == 'R';
+            long valor = leerNumero(igual + 1, finLinea, esNR ? Long.MAX_VALUE : Integer.MAX_VALUE);
+            if (a == 'T' && b == 'P') tamanoPaginaArchivo = (int) valor;
+            else if (a == 'N' && b == 'F') numeroFilas = (int) valor;
+            else if (a == 'N' && b == 'C') numeroColumnas = (int) valor;
+            else if (esNR) numeroReferencias = valor;
+            else if (a == 'N' && b == 'P') numeroPaginas = (int) valor;
+        }
+    }
+    
+    /**
+     * Lee el siguiente bloque de direcciones del archivo
+     * Formato de cada línea: M1:[i-j],pagina,offset,operacion
+     * Las líneas sin comas (por ejemplo, vacías) se ignoran
+     */
+    private void llenarBloque() throws IOException {
+        posicion = 0;
+        limite = 0;
+        if (canal == null) {
+            return;
+        }
+        
+        while (limite < bloque.length && siguienteLinea()) {
+            if (buscar((byte) ',', inicioLinea, finLinea) != -1) {
+                interpretarReferencia();
+                limite++;
+            }
+        }
+        
+        if (limite < bloque.length) {
+            cerrar(); // Fin del archivo
+        }
+    }
+    
+    /**
+     * Interpreta la línea actual, que debe tener la forma M<k>:[i-j],pagina,offset,r|w
+     * Guarda en la posición limite del bloque la dirección virtual pagina * TP + offset, su página,
+     * su matriz y si es una escritura
+     */
+    private void interpretarReferencia() throws IOException {
+        int p = inicioLinea;
+        p = esperar((byte) 'M', p);
+        int finMatriz = saltarDigitos(p);
+        int matriz = (int) leerNumero(p, finMatriz, Integer.MAX_VALUE);
+        p = esperar((byte) ':', finMatriz);
+        p = esperar((byte) '[', p);
+        p = saltarDigitos(p);
+        p = esperar((byte) '-', p);
+        p = saltarDigitos(p);
+        p = esperar((byte) ']', p);
+        p = esperar((byte) ',', p);
+        
+        int finPagina = saltarDigitos(p);
+        long pagina = leerNumero(p, finPagina, Integer.MAX_VALUE);
+        p = esperar((byte) ',', finPagina);
+        
+        int finOffset = saltarDigitos(p);
+        long offset = leerNumero(p, finOffset, Integer.MAX_VALUE);
+        p = esperar((byte) ',', finOffset);
+        
+        if (p + 1 != finLinea || (datos[p] != 'r' && datos[p] != 'w')) {
+            throw lineaMalFormada(p);
+        }
+        
+        long direccion = pagina * tamanoPagina + offset;
+        long paginaDireccion = offset < tamanoPagina ? pagina : direccion / tamanoPagina;
+        if (paginaDireccion > Integer.MAX_VALUE) {
+            throw lineaMalFormada(inicioLinea);
+        }
+        bloque[limite] = direccion;
+        paginasBloque[limite] = (int) paginaDireccion;
+        escriturasBloque[limite] = datos[p] == 'w';
+        matricesBloque[limite] = matriz;
+    }
+    
+    /**
+     * Verifica que en la posición p esté el byte esperado y devuelve la posición siguiente
+     */
+    private int esperar(byte esperado, int p) throws IOException {
+        if (p >= finLinea || datos[p] != esperado) {
+            throw lineaMalFormada(p);
+        }
+        return p + 1;
+    }
+    
+    /**
+     * Avanza sobre uno o más dígitos y devuelve la posición del primer byte que no lo es
+     */
+    private int saltarDigitos(int p) throws IOException {
+        int q = p;
+        while (q < finLinea && datos[q] >= '0' && datos[q] <= '9') {
+            q++;
+        }
+        if (q == p) {
+            throw lineaMalFormada(p);
+        }
+        return q;
+    }
+    
+    /**
+     * Interpreta los dígitos entre desde y hasta como un entero no negativo no mayor que maximo
+     */
+    private long leerNumero(int desde, int hasta, long maximo) throws IOException {
+        if (desde >= hasta) {
+            throw lineaMalFormada(desde);
+        }
+        long valor = 0;
+        for (int q = desde; q < hasta; q++) {
+            byte b = datos[q];
+            if (b < '0' || b > '9') {
+                throw lineaMalFormada(q);
+            }
+            if (valor > (maximo - (b - '0')) / 10) {
+                throw lineaMalFormada(desde);
+            }
+            valor = valor * 10 + (b - '0');
+        }
+        return valor;
+    }
+    
+    /**
+     * Busca un byte en la línea actual
+     * @return Su posición, o -1 si no está
+     */
+    private int buscar(byte b, int desde, int hasta) {
+        for (int q = desde; q < hasta; q++) {
+            if (datos[q] == b) {
+                return q;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Construye el error para la línea actual (solo entonces se crea un String con su contenido)
+     */
+    private IOException lineaMalFormada(int p) {
+        String contenido = new String(datos, inicioLinea, finLinea - inicioLinea, StandardCharsets.UTF_8);
+        return new IOException(nombreArchivo + ", línea " + numeroLinea + " mal formada (columna " +
+            (p - inicioLinea + 1) + "): " + contenido);
+    }
+    
+    /**
+     * Ubica la siguiente línea en el buffer, leyendo más bytes del canal si hace falta
+     * Deja sus límites en inicioLinea y finLinea (sin el fin de línea)
+     * @return false si no quedan líneas
+     */
+    private boolean siguienteLinea() throws IOException {
+        int salto = buscar((byte) '\n', inicioPendiente, finDatos);
+        while (salto == -1 && !finArchivo) {
+            int revisado = finDatos - inicioPendiente;
+            leerMas();
+            salto = buscar((byte) '\n', inicioPendiente + revisado, finDatos);
+        }
+        
+        if (salto == -1) {
+            if (inicioPendiente >= finDatos) {
+                return false;
+            }
+            salto = finDatos; // Última línea sin salto de línea
+        }
+        
+        numeroLinea++;
+        inicioLinea = inicioPendiente;
+        finLinea = salto;
+        if (finLinea > inicioLinea && datos[finLinea - 1] == '\r') {
+            finLinea--;
+        }
+        inicioPendiente = Math.min(salto + 1, finDatos);
+        return true;
+    }
+    
+    /**
+     * Mueve los bytes pendientes al inicio del buffer y lo completa desde el canal
+     */
+    private void leerMas() throws IOException {
+        int pendientes = finDatos - inicioPendiente;
+        if (pendientes == datos.length) {
+            numeroLinea++;
+            throw new IOException(nombreArchivo + ", línea " + numeroLinea + " demasiado larga");
+        }
+        System.arraycopy(datos, inicioPendiente, datos, 0, pendientes);
+        inicioPendiente = 0;
+        finDatos = pendientes;
+        
+        buffer.limit(datos.length).position(finDatos);
+        int leidos = canal.read(buffer);
+        if (leidos == -1) {
+            finArchivo = true;
+        } else {
+            finDatos += leidos;
+        }
+    }
+    
+    @Override
+    public boolean hayMas() {
+        return posicion < limite;
+    }
+    
+    @Override
+    public long actual() {
+        return bloque[posicion];
+    }
+    
+    @Override
+    public int paginaActual() {
+        return paginasBloque[posicion];
+    }
+    
+    @Override
+    public boolean esEscritura() {
+        return escriturasBloque[posicion];
+    }
+    
+    @Override
+    public int getMatriz() {
+        return matricesBloque[posicion];
+    }
+    
+    /**
+     * Avanza a la siguiente dirección, leyendo otro bloque si es necesario
+     */
+    @Override
+    public void avanzar() {
+        posicion++;
+        if (posicion >= limite && canal != null) {
+            try {
+                llenarBloque();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    /**
+     * Cierra el archivo (se llama solo al llegar al final)
+     */
+    @Override
+    public void cerrar() {
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                // Nada más que hacer: el archivo ya no se va a leer
+            }
+            canal = null;
+        }
+    }
+    
+    // Getters
+    public String getNombreArchivo() { return nombreArchivo; }
+    public int getTamanoPaginaArchivo() { return tamanoPaginaArchivo; }
+    public int getNumeroFilas() { return numeroFilas; }
+    public int getNumeroColumnas() { return numeroColumnas; }
+    @Override
+    public long getNumeroReferencias() { return numeroReferencias; }
+    @Override
+    public int getNumeroPaginas() { return numeroPaginas; }
+}
@@ -0,0 +1,199 @@
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cursor sobre un archivo de proceso en formato binario (FormatoTrazaBinaria)
+ * El archivo se lee a través de un MappedByteBuffer; los archivos grandes
+ * se recorren por ventanas que se vuelven a mapear a medida que se avanza
+ */
+public class CursorTrazaBinaria implements FuenteDirecciones {
+    
+    private static final long TAMANO_VENTANA = 64L << 20; // 64 MB
+    
+    private String nombreArchivo;
+    private FileChannel canal;
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+    private long tamanoArchivo;
+    private int tamanoPagina;
+    
+    // Encabezado
+    private int tamanoPaginaArchivo; // TP
+    private int numeroFilas;         // NF
+    private int numeroColumnas;      // NC
+    private long numeroReferencias;  // NR
+    private int numeroPaginas;       // NP
+    
+    // Referencia actual y estado de la decodificación
+    private boolean hayActual;
+    private int matriz;
+    private int fila;
+    private int columna;
+    private int pagina;
+    private int offset;
+    private boolean escritura;
+    private long direccion;     // pagina * TP + offset, con el TP de la simulación
+    private int paginaDireccion; // direccion / TP
+    private int[] paginaAnterior;
+    private int[] offsetAnterior;
+    
+    /**
+     * Abre el archivo, valida la firma y lee el encabezado
+     * @param nombreArchivo Archivo binario de proceso
+     * @param tamanoPagina Tamaño de página con el que se reconstruyen las direcciones
+     */
+    public CursorTrazaBinaria(String nombreArchivo, int tamanoPagina) throws IOException {
+        this.nombreArchivo = nombreArchivo;
+        this.tamanoPagina = tamanoPagina;
+        this.canal = FileChannel.open(new File(nombreArchivo).toPath(), StandardOpenOption.READ);
+        this.tamanoArchivo = canal.size();
+        this.paginaAnterior = new int[FormatoTrazaBinaria.MAX_MATRICES];
+        this.offsetAnterior = new int[FormatoTrazaBinaria.MAX_MATRICES];
+        
+        try {
+            mapearVentana(0);
+            leerEncabezado();
+            avanzar();
+        } catch (IOException | RuntimeException e) {
+            cerrar();
+            throw e;
+        }
+    }
+    
+    /**
+     * Lee la firma, la versión y los campos TP, NF, NC, NR, NP
+     */
+    private void leerEncabezado() throws IOException {
+        if (tamanoArchivo < FormatoTrazaBinaria.FIRMA.length + 1) {
+            throw new IOException("Archivo binario incompleto: " + nombreArchivo);
+        }
+        for (byte b : FormatoTrazaBinaria.FIRMA) {
+            if (ventana.get() != b) {
+                throw new IOException("El archivo no está en formato binario de traza: " + nombreArchivo);
+            }
+        }
+        int version = ventana.get();
+        if (version < FormatoTrazaBinaria.VERSION_MINIMA || version > FormatoTrazaBinaria.VERSION) {
+            throw new IOException("Versión de formato no soportada (" + version + "): " + nombreArchivo);
+        }
+        tamanoPaginaArchivo = (int) FormatoTrazaBinaria.leerVarint(ventana);
+        numeroFilas = (int) FormatoTrazaBinaria.leerVarint(ventana);
+        numeroColumnas = (int) FormatoTrazaBinaria.leerVarint(ventana);
+        numeroReferencias = FormatoTrazaBinaria.leerVarint(ventana);
+        long paginas = FormatoTrazaBinaria.leerVarint(ventana);
+        if (paginas > Integer.MAX_VALUE) {
+            throw new IOException("NP=" + paginas + " es mayor que el máximo de páginas (" + Integer.MAX_VALUE + "): " +
+                nombreArchivo);
+        }
+        numeroPaginas = (int) paginas;
+    }
+    
+    /**
+     * Mapea la ventana del archivo que empieza en la posición indicada
+     */
+    private void mapearVentana(long inicio) throws IOException {
+        long tamano = Math.min(TAMANO_VENTANA, tamanoArchivo - inicio);
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamano);
+        inicioVentana = inicio;
+    }
+    
+    /**
+     * Decodifica la siguiente referencia, o marca el final si no hay más
+     */
+    private void decodificarSiguiente() throws IOException {
+        long posicion = inicioVentana + ventana.position();
+        if (posicion >= tamanoArchivo) {
+            hayActual = false;
+            cerrar();
+            return;
+        }
+        if (ventana.remaining() < FormatoTrazaBinaria.MAX_BYTES_REGISTRO
+                && inicioVentana + ventana.limit() < tamanoArchivo) {
+            mapearVentana(posicion);
+        }
+        
+        int etiqueta = ventana.get() & 0xFF;
+        matriz = etiqueta & FormatoTrazaBinaria.MASCARA_MATRIZ;
+        escritura = (etiqueta & FormatoTrazaBinaria.BIT_ESCRITURA) != 0;
+        fila += (int) FormatoTrazaBinaria.deszigzag(FormatoTrazaBinaria.leerVarint(ventana));
+        columna += (int) FormatoTrazaBinaria.deszigzag(FormatoTrazaBinaria.leerVarint(ventana));
+        pagina = paginaAnterior[matriz] + (int) FormatoTrazaBinaria.deszigzag(FormatoTrazaBinaria.leerVarint(ventana));
+        offset = offsetAnterior[matriz] + (int) FormatoTrazaBinaria.deszigzag(FormatoTrazaBinaria.leerVarint(ventana));
+        paginaAnterior[matriz] = pagina;
+        offsetAnterior[matriz] = offset;
+        direccion = (long) pagina * tamanoPagina + offset;
+        if (offset >= 0 && offset < tamanoPagina) {
+            paginaDireccion = pagina;
+        } else if (direccion / tamanoPagina <= Integer.MAX_VALUE) {
+            paginaDireccion = (int) (direccion / tamanoPagina);
+        } else {
+            throw new IOException("Página fuera de rango en " + nombreArchivo + ": " + direccion / tamanoPagina);
+        }
+        hayActual = true;
+    }
+    
+    @Override
+    public boolean hayMas() {
+        return hayActual;
+    }
+    
+    @Override
+    public long actual() {
+        return direccion;
+    }
+    
+    @Override
+    public int paginaActual() {
+        return paginaDireccion;
+    }
+    
+    @Override
+    public void avanzar() {
+        if (canal == null) {
+            hayActual = false;
+            return;
+        }
+        try {
+            decodificarSiguiente();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo " + nombreArchivo, e);
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IllegalStateException("Registro truncado al final de " + nombreArchivo, e);
+        }
+    }
+    
+    @Override
+    public void cerrar() {
+        ventana = null;
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                // Nada más que hacer: el archivo ya no se va a leer
+            }
+            canal = null;
+        }
+    }
+    
+    // Campos de la referencia actual
+    @Override
+    public int getMatriz() { return matriz; }
+    public int getFila() { return fila; }
+    public int getColumna() { return columna; }
+    public int getPagina() { return pagina; }
+    public int getOffset() { return offset; }
+    @Override
+    public boolean esEscritura() { return escritura; }
+    
+    // Getters del encabezado
+    public String getNombreArchivo() { return nombreArchivo; }
+    public int getTamanoPaginaArchivo() { return tamanoPaginaArchivo; }
+    public int getNumeroFilas() { return numeroFilas; }
+    public int getNumeroColumnas() { return numeroColumnas; }
+    @Override
+    public long getNumeroReferencias() { return numeroReferencias; }
+    @Override
+    public int getNumeroPaginas() { return numeroPaginas; }
+}
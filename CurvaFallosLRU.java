@@ -0,0 +1,322 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Curva de fallos de página LRU para todos los números de marcos en una sola pasada
+ * 
+ * LRU cumple la propiedad de inclusión: con F marcos, una referencia es fallo
+ * si y solo si su distancia de pila (páginas distintas usadas desde su último
+ * acceso, contándola a ella) es mayor que F, o si es el primer acceso a la página.
+ * Las distancias se calculan con un árbol de Fenwick sobre los instantes del
+ * último acceso de cada página; los instantes se compactan periódicamente para
+ * que el árbol tenga tamaño proporcional al número de páginas distintas M,
+ * de modo que el costo total es O(N log M).
+ * 
+ * Uso:
+ *   java CurvaFallosLRU [--verificar] <proc<i>.txt|proc<i>.bin> [salida.csv]
+ *   java CurvaFallosLRU [--verificar] generar <TP> <tamaño de matriz> [salida.csv]
+ * Con --verificar contrasta además la curva con GestorMemoria, lo que repite la
+ * simulación completa en cada número de marcos de la muestra.
+ */
+public class CurvaFallosLRU {
+    
+    private static final int CAPACIDAD_INICIAL = 1024;
+    
+    private long referencias;
+    private long fallosFrios;
+    private long[] histograma; // distancia de pila -> cantidad de referencias
+    private long[] fallosPorMarcos; // marcos -> fallos, para 0..paginasDistintas
+    private int paginasDistintas;
+    
+    // Estado del cálculo
+    private int[] ultimoInstante; // página -> instante de su último acceso (-1 si nunca)
+    private int[] paginaEnInstante; // instante -> página accedida
+    private int[] fenwick; // 1 en los instantes que son el último acceso de alguna página
+    private int capacidad;
+    private int instante;
+    
+    private CurvaFallosLRU(int paginasEstimadas) {
+        this.histograma = new long[Math.max(paginasEstimadas, 1) + 1];
+        this.ultimoInstante = new int[Math.max(paginasEstimadas, 1)];
+        Arrays.fill(ultimoInstante, -1);
+        this.capacidad = Math.max(CAPACIDAD_INICIAL, 2 * paginasEstimadas);
+        this.paginaEnInstante = new int[capacidad];
+        this.fenwick = new int[capacidad + 1];
+        this.instante = 0;
+    }
+    
+    /**
+     * Calcula la curva de fallos LRU de una secuencia de direcciones
+     */
+    public static CurvaFallosLRU calcular(FuenteDirecciones fuente, int tamanoPagina) {
+        CurvaFallosLRU curva = new CurvaFallosLRU(fuente.getNumeroPaginas());
+        while (fuente.hayMas()) {
+            curva.registrarAcceso(fuente.paginaActual());
+            fuente.avanzar();
+        }
+        fuente.cerrar();
+        curva.acumularFallos();
+        return curva;
+    }
+    
+    /**
+     * Procesa un acceso a una página y registra su distancia de pila
+     */
+    private void registrarAcceso(int pagina) {
+        if (pagina >= ultimoInstante.length) {
+            int anterior = ultimoInstante.length;
+            ultimoInstante = Arrays.copyOf(ultimoInstante, Math.max(pagina + 1, anterior * 2));
+            Arrays.fill(ultimoInstante, anterior, ultimoInstante.length, -1);
+        }
+        if (instante == capacidad) {
+            compactar();
+        }
+        
+        int previo = ultimoInstante[pagina];
+        if (previo == -1) {
+            fallosFrios++;
+            paginasDistintas++;
+        } else {
+            // Páginas distintas accedidas después del acceso previo, más la propia página
+            int distancia = sumaHasta(instante) - sumaHasta(previo + 1) + 1;
+            if (distancia >= histograma.length) {
+                histograma = Arrays.copyOf(histograma, Math.max(distancia + 1, histograma.length * 2));
+            }
+            histograma[distancia]++;
+            sumar(previo, -1);
+        }
+        
+        sumar(instante, 1);
+        ultimoInstante[pagina] = instante;
+        paginaEnInstante[instante] = pagina;
+        instante++;
+        referencias++;
+    }
+    
+    /**
+     * Renumera los instantes vigentes (uno por página) a 0..k-1 conservando su orden
+     * y reconstruye el árbol; si siguen ocupando más de la mitad, duplica la capacidad
+     */
+    private void compactar() {
+        int vigentes = 0;
+        for (int t = 0; t < instante; t++) {
+            int pagina = paginaEnInstante[t];
+            if (ultimoInstante[pagina] == t) {
+                paginaEnInstante[vigentes] = pagina;
+                ultimoInstante[pagina] = vigentes;
+                vigentes++;
+            }
+        }
+        instante = vigentes;
+        
+        if (vigentes > capacidad / 2) {
+            capacidad *= 2;
+            paginaEnInstante = Arrays.copyOf(paginaEnInstante, capacidad);
+            fenwick = new int[capacidad + 1];
+        } else {
+            Arrays.fill(fenwick, 0);
+        }
+        
+        // Construcción lineal del árbol con un 1 en cada instante vigente
+        for (int i = 1; i <= capacidad; i++) {
+            if (i <= vigentes) {
+                fenwick[i]++;
+            }
+            int padre = i + (i & -i);
+            if (padre <= capacidad) {
+                fenwick[padre] += fenwick[i];
+            }
+        }
+    }
+    
+    private void sumar(int posicion, int delta) {
+        for (int i = posicion + 1; i <= capacidad; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+    
+    /**
+     * Suma de las posiciones 0..hasta-1
+     */
+    private int sumaHasta(int hasta) {
+        int suma = 0;
+        for (int i = hasta; i > 0; i -= i & -i) {
+            suma += fenwick[i];
+        }
+        return suma;
+    }
+    
+    /**
+     * fallos(F) = fallos fríos + referencias con distancia mayor que F
+     */
+    private void acumularFallos() {
+        fallosPorMarcos = new long[paginasDistintas + 1];
+        long mayores = 0;
+        for (int d = histograma.length - 1; d > paginasDistintas; d--) {
+            mayores += histograma[d];
+        }
+        for (int marcos = paginasDistintas; marcos >= 0; marcos--) {
+            fallosPorMarcos[marcos] = fallosFrios + mayores;
+            if (marcos < histograma.length) {
+                mayores += histograma[marcos];
+            }
+        }
+        
+        // El estado del cálculo ya no se necesita
+        ultimoInstante = null;
+        paginaEnInstante = null;
+        fenwick = null;
+    }
+    
+    /**
+     * Fallos de página de LRU con el número de marcos dado
+     */
+    public long getFallos(int marcos) {
+        return fallosPorMarcos[Math.max(0, Math.min(marcos, paginasDistintas))];
+    }
+    
+    /**
+     * Tasa de fallos de LRU con el número de marcos dado
+     */
+    public double getTasaFallos(int marcos) {
+        return referencias == 0 ? 0.0 : (double) getFallos(marcos) / referencias;
+    }
+    
+    public long getReferencias() { return referencias; }
+    public long getFallosFrios() { return fallosFrios; }
+    public int getPaginasDistintas() { return paginasDistintas; }
+    
+    /**
+     * Simula la misma secuencia con GestorMemoria y un solo proceso dueño de todos los marcos
+     * @return Fallos de página (accesos a páginas que no estaban cargadas)
+     */
+    public static long simularConGestor(FuenteDirecciones fuente, int tamanoPagina, int marcos) {
+        GestorMemoria gestor = new GestorMemoria(tamanoPagina, marcos);
+        gestor.asignarMarcosEquitativos(1, 0);
+        long fallos = 0;
+        while (fuente.hayMas()) {
+            int pagina = fuente.paginaActual();
+            if (!gestor.paginaEnMemoria(pagina, 0)) {
+                fallos++;
+            }
+            gestor.cargarPagina(pagina, 0);
+            fuente.avanzar();
+        }
+        fuente.cerrar();
+        return fallos;
+    }
+    
+    /**
+     * Contrasta la curva con GestorMemoria en 1, 2, 4, ... marcos y en M marcos
+     * @return Lista de diferencias encontradas (vacía si todo coincide)
+     */
+    public List<String> verificar(Callable<FuenteDirecciones> abrirFuente, int tamanoPagina) throws Exception {
+        List<String> diferencias = new ArrayList<>();
+        TreeSet<Integer> muestras = new TreeSet<>();
+        for (int marcos = 1; marcos < paginasDistintas; marcos *= 2) {
+            muestras.add(marcos);
+        }
+        muestras.add(Math.max(1, paginasDistintas));
+        
+        for (int marcos : muestras) {
+            long esperado = simularConGestor(abrirFuente.call(), tamanoPagina, marcos);
+            if (esperado != getFallos(marcos)) {
+                diferencias.add("Marcos=" + marcos + ": curva=" + getFallos(marcos) + ", GestorMemoria=" + esperado);
+            }
+        }
+        return diferencias;
+    }
+    
+    public static void main(String[] args) {
+        boolean conVerificacion = args.length > 0 && args[0].equals("--verificar");
+        if (conVerificacion) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        try {
+            final Callable<FuenteDirecciones> abrirFuente;
+            final int tamanoPagina;
+            String salida;
+            
+            if (args.length >= 3 && args[0].equals("generar")) {
+                tamanoPagina = Integer.parseInt(args[1]);
+                int tamano = Integer.parseInt(args[2]);
+                abrirFuente = () -> new GeneradorDirecciones(tamano, tamano, tamanoPagina);
+                salida = args.length > 3 ? args[3] : null;
+            } else if (args.length >= 1 && !args[0].equals("generar")) {
+                String archivo = args[0];
+                tamanoPagina = leerTamanoPagina(archivo);
+                abrirFuente = () -> abrirArchivo(archivo, tamanoPagina);
+                salida = args.length > 1 ? args[1] : null;
+            } else {
+                System.err.println("Uso: java CurvaFallosLRU [--verificar] <proc<i>.txt|proc<i>.bin> [salida.csv]");
+                System.err.println("     java CurvaFallosLRU [--verificar] generar <TP> <tamaño de matriz> [salida.csv]");
+                return;
+            }
+            
+            long inicio = System.nanoTime();
+            CurvaFallosLRU curva = calcular(abrirFuente.call(), tamanoPagina);
+            long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+            
+            System.out.println("=== CURVA DE FALLOS LRU ===");
+            System.out.println("Referencias: " + curva.getReferencias());
+            System.out.println("Páginas distintas: " + curva.getPaginasDistintas());
+            System.out.println("Fallos obligatorios: " + curva.getFallosFrios());
+            System.out.println("Tiempo de cálculo: " + milisegundos + " ms");
+            
+            if (conVerificacion) {
+                List<String> diferencias = curva.verificar(abrirFuente, tamanoPagina);
+                if (diferencias.isEmpty()) {
+                    System.out.println("Verificación con GestorMemoria: OK");
+                } else {
+                    System.err.println("Verificación con GestorMemoria: DIFERENCIAS");
+                    for (String diferencia : diferencias) {
+                        System.err.println("  " + diferencia);
+                    }
+                }
+            }
+            
+            PrintWriter writer = salida == null ? new PrintWriter(System.out) : new PrintWriter(new FileWriter(salida));
+            try {
+                writer.println("Marcos,Fallas_Pagina,Tasa_Fallas");
+                for (int marcos = 1; marcos <= Math.max(1, curva.getPaginasDistintas()); marcos++) {
+                    writer.println(marcos + "," + curva.getFallos(marcos) + "," +
+                        String.format(Locale.ROOT, "%.6f", curva.getTasaFallos(marcos)));
+                }
+            } finally {
+                writer.flush();
+                if (salida != null) {
+                    writer.close();
+                    System.out.println("Curva guardada en " + salida);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error calculando la curva: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Abre un archivo de proceso en cualquiera de los dos formatos
+     */
+    private static FuenteDirecciones abrirArchivo(String archivo, int tamanoPagina) throws IOException {
+        if (FormatoTrazaBinaria.esTrazaBinaria(new File(archivo))) {
+            return new CursorTrazaBinaria(archivo, tamanoPagina);
+        }
+        return new CursorTraza(archivo, tamanoPagina);
+    }
+    
+    /**
+     * Toma el TP del encabezado del archivo de proceso
+     */
+    private static int leerTamanoPagina(String archivo) throws IOException {
+        if (FormatoTrazaBinaria.esTrazaBinaria(new File(archivo))) {
+            CursorTrazaBinaria cursor = new CursorTrazaBinaria(archivo, 1);
+            cursor.cerrar();
+            return cursor.getTamanoPaginaArchivo();
+        }
+        CursorTraza cursor = new CursorTraza(archivo, 1);
+        cursor.cerrar();
+        return cursor.getTamanoPaginaArchivo();
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.*;
+
+/**
+ * Dispositivo de SWAP con latencia y cola de pedidos, para la Opción 2 con reloj (DISPOSITIVO=si)
+ *
+ * El tiempo se mide en turnos: una referencia usa una unidad. Cada pedido es un
+ * lote de páginas contiguas de un mismo proceso, todas de lectura o todas de
+ * escritura, y tarda la latencia de su tipo más la transferencia de cada página.
+ * El dispositivo atiende un lote a la vez, en orden de llegada. Un pedido nuevo se
+ * une a un lote que todavía espera si es del mismo proceso y tipo y su página es
+ * contigua al lote (hasta LOTE páginas), así que no paga otra latencia.
+ *
+ * Las transferencias de un fallo se acumulan con leer() y escribir() y se envían
+ * juntas con enviar(): primero las escrituras de las páginas reemplazadas, que el
+ * proceso no espera, y después las lecturas, ordenadas por página. El proceso se
+ * despierta cuando termina el último lote con sus lecturas.
+ */
+public class DispositivoSWAP {
+    
+    /**
+     * Pedido de páginas contiguas [primeraPagina, primeraPagina + paginas) de un proceso
+     */
+    private static class Lote {
+        int proceso;
+        boolean escritura;
+        int primeraPagina;
+        int paginas;
+        int despierta = -1; // Proceso que espera el fin del lote (-1 si ninguno)
+    }
+    
+    private final long latenciaLectura;
+    private final long latenciaEscritura;
+    private final long transferencia;
+    private final int maximoLote;
+    
+    private final ArrayDeque<Lote> cola;  // Lotes que esperan, en orden de llegada
+    private Lote enServicio;              // Lote que se está transfiriendo (null si está libre)
+    private long finServicio;
+    private long finCompletado;           // Fin del último lote que despertó a un proceso
+    private long finUltimoLote;           // Fin del último lote completado
+    
+    // Transferencias del fallo actual, todavía sin enviar
+    private int[] lecturas;
+    private long[] escrituras; // Proceso dueño en los 32 bits altos y página en los bajos
+    private int numeroLecturas;
+    private int numeroEscrituras;
+    
+    private long tiempoOcupado;
+    private long lotesLectura;
+    private long lotesEscritura;
+    private long paginasLeidas;
+    private long paginasEscritas;
+    
+    /**
+     * @param latenciaLectura Tiempo fijo de un lote de lectura
+     * @param latenciaEscritura Tiempo fijo de un lote de escritura
+     * @param transferencia Tiempo por página transferida
+     * @param maximoLote Máximo de páginas por lote
+     */
+    public DispositivoSWAP(long latenciaLectura, long latenciaEscritura, long transferencia, int maximoLote) {
+        if (latenciaLectura < 0 || latenciaEscritura < 0 || transferencia < 0 || maximoLote <= 0) {
+            throw new IllegalArgumentException("Error: las latencias y la transferencia no pueden ser negativas y LOTE debe ser positivo");
+        }
+        this.latenciaLectura = latenciaLectura;
+        this.latenciaEscritura = latenciaEscritura;
+        this.transferencia = transferencia;
+        this.maximoLote = maximoLote;
+        this.cola = new ArrayDeque<>();
+        this.lecturas = new int[8];
+        this.escrituras = new long[8];
+    }
+    
+    /**
+     * Agrega la lectura de una página al fallo actual
+     */
+    public void leer(int pagina) {
+        if (numeroLecturas == lecturas.length) {
+            lecturas = Arrays.copyOf(lecturas, numeroLecturas * 2);
+        }
+        lecturas[numeroLecturas++] = pagina;
+    }
+    
+    /**
+     * Agrega la escritura de una página reemplazada al fallo actual
+     * @param idProceso Dueño de la página, que con reemplazo global puede no ser el proceso del fallo
+     */
+    public void escribir(int idProceso, int pagina) {
+        if (numeroEscrituras == escrituras.length) {
+            escrituras = Arrays.copyOf(escrituras, numeroEscrituras * 2);
+        }
+        escrituras[numeroEscrituras++] = (long) idProceso << 32 | pagina;
+    }
+    
+    /**
+     * Encola las transferencias del fallo actual de un proceso; el proceso queda
+     * esperando el último lote con sus lecturas
+     * @param reloj Instante del fallo
+     */
+    public void enviar(int idProceso, long reloj) {
+        Arrays.sort(escrituras, 0, numeroEscrituras);
+        for (int i = 0; i < numeroEscrituras; i++) {
+            encolar((int) (escrituras[i] >>> 32), true, (int) escrituras[i]);
+        }
+        Arrays.sort(lecturas, 0, numeroLecturas);
+        Lote ultimaLectura = null;
+        for (int i = 0; i < numeroLecturas; i++) {
+            Lote lote = encolar(idProceso, false, lecturas[i]);
+            if (ultimaLectura == null || lote != ultimaLectura && ultimoEnCola(lote, ultimaLectura)) {
+                ultimaLectura = lote;
+            }
+        }
+        if (ultimaLectura != null) {
+            ultimaLectura.despierta = idProceso;
+        }
+        numeroLecturas = 0;
+        numeroEscrituras = 0;
+        if (enServicio == null) {
+            iniciarSiguiente(reloj);
+        }
+    }
+    
+    /**
+     * Une una página a un lote que espera, si se puede, o la encola en un lote nuevo
+     * @return El lote que recibió la página
+     */
+    private Lote encolar(int idProceso, boolean escritura, int pagina) {
+        for (Lote lote : cola) {
+            if (lote.proceso == idProceso && lote.escritura == escritura && lote.paginas < maximoLote) {
+                if (pagina == lote.primeraPagina + lote.paginas) {
+                    lote.paginas++;
+                    return lote;
+                }
+                if (pagina == lote.primeraPagina - 1) {
+                    lote.primeraPagina--;
+                    lote.paginas++;
+                    return lote;
+                }
+            }
+        }
+        Lote lote = new Lote();
+        lote.proceso = idProceso;
+        lote.escritura = escritura;
+        lote.primeraPagina = pagina;
+        lote.paginas = 1;
+        cola.addLast(lote);
+        return lote;
+    }
+    
+    /**
+     * Indica si el lote a está después del lote b en la cola
+     */
+    private boolean ultimoEnCola(Lote a, Lote b) {
+        for (Iterator<Lote> it = cola.descendingIterator(); it.hasNext(); ) {
+            Lote lote = it.next();
+            if (lote == a) return true;
+            if (lote == b) return false;
+        }
+        return false;
+    }
+    
+    /**
+     * Empieza a transferir el siguiente lote de la cola, si hay
+     */
+    private void iniciarSiguiente(long inicio) {
+        enServicio = cola.pollFirst();
+        if (enServicio == null) {
+            return;
+        }
+        long servicio = (enServicio.escritura ? latenciaEscritura : latenciaLectura) + enServicio.paginas * transferencia;
+        finServicio = inicio + servicio;
+        tiempoOcupado += servicio;
+        if (enServicio.escritura) {
+            lotesEscritura++;
+            paginasEscritas += enServicio.paginas;
+        } else {
+            lotesLectura++;
+            paginasLeidas += enServicio.paginas;
+        }
+    }
+    
+    /**
+     * Completa los lotes que terminan hasta el reloj dado, en orden, hasta el primero
+     * que despierta a un proceso
+     * @return El proceso que despierta (getFinCompletado() es cuándo), o -1 si ninguno
+     */
+    public int completarHasta(long reloj) {
+        while (enServicio != null && finServicio <= reloj) {
+            Lote lote = enServicio;
+            long fin = finServicio;
+            finUltimoLote = fin;
+            iniciarSiguiente(fin);
+            if (lote.despierta != -1) {
+                finCompletado = fin;
+                return lote.despierta;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Completa todos los lotes pendientes (las escrituras que ningún proceso espera)
+     * @return Instante en que terminó el último lote, o 0 si no hubo ninguno
+     */
+    public long vaciar() {
+        while (enServicio != null) {
+            finUltimoLote = finServicio;
+            iniciarSiguiente(finServicio);
+        }
+        return finUltimoLote;
+    }
+    
+    /**
+     * Indica si hay lotes en transferencia o esperando
+     */
+    public boolean estaOcupado() {
+        return enServicio != null;
+    }
+    
+    /**
+     * Instante en que termina el lote en transferencia (solo si estaOcupado())
+     */
+    public long getFinServicio() { return finServicio; }
+    public long getFinCompletado() { return finCompletado; }
+    public long getTiempoOcupado() { return tiempoOcupado; }
+    public long getLotesLectura() { return lotesLectura; }
+    public long getLotesEscritura() { return lotesEscritura; }
+    public long getPaginasLeidas() { return paginasLeidas; }
+    public long getPaginasEscritas() { return paginasEscritas; }
+}
@@ -0,0 +1,12 @@
+import java.io.*;
+
+/**
+ * Destino de las referencias que genera la Opción 1 (archivo de texto o binario)
+ */
+public interface EscritorTraza extends Closeable {
+    
+    /**
+     * Escribe una referencia: M<matriz>:[fila-columna],pagina,offset,r|w
+     */
+    void escribir(int matriz, int fila, int columna, int pagina, int offset, boolean escritura) throws IOException;
+}
@@ -0,0 +1,62 @@
+import java.io.*;
+
+/**
+ * Escribe un archivo de proceso en el formato binario de FormatoTrazaBinaria
+ */
+public class EscritorTrazaBinaria implements EscritorTraza {
+    
+    private OutputStream out;
+    private int filaAnterior;
+    private int columnaAnterior;
+    private int[] paginaAnterior;
+    private int[] offsetAnterior;
+    private long referenciasEscritas;
+    
+    /**
+     * Crea el archivo y escribe el encabezado
+     */
+    public EscritorTrazaBinaria(String nombreArchivo, int tamanoPagina, int numeroFilas, int numeroColumnas,
+                                long numeroReferencias, int numeroPaginas) throws IOException {
+        this.out = new BufferedOutputStream(new FileOutputStream(nombreArchivo), 1 << 16);
+        this.paginaAnterior = new int[FormatoTrazaBinaria.MAX_MATRICES];
+        this.offsetAnterior = new int[FormatoTrazaBinaria.MAX_MATRICES];
+        
+        out.write(FormatoTrazaBinaria.FIRMA);
+        out.write(FormatoTrazaBinaria.VERSION);
+        FormatoTrazaBinaria.escribirVarint(out, tamanoPagina);
+        FormatoTrazaBinaria.escribirVarint(out, numeroFilas);
+        FormatoTrazaBinaria.escribirVarint(out, numeroColumnas);
+        FormatoTrazaBinaria.escribirVarint(out, numeroReferencias);
+        FormatoTrazaBinaria.escribirVarint(out, numeroPaginas);
+    }
+    
+    @Override
+    public void escribir(int matriz, int fila, int columna, int pagina, int offset, boolean escritura) throws IOException {
+        if (matriz < 0 || matriz > FormatoTrazaBinaria.MASCARA_MATRIZ) {
+            throw new IllegalArgumentException("Número de matriz fuera de rango: " + matriz);
+        }
+        out.write(matriz | (escritura ? FormatoTrazaBinaria.BIT_ESCRITURA : 0));
+        FormatoTrazaBinaria.escribirVarint(out, FormatoTrazaBinaria.zigzag((long) fila - filaAnterior));
+        FormatoTrazaBinaria.escribirVarint(out, FormatoTrazaBinaria.zigzag((long) columna - columnaAnterior));
+        FormatoTrazaBinaria.escribirVarint(out, FormatoTrazaBinaria.zigzag((long) pagina - paginaAnterior[matriz]));
+        FormatoTrazaBinaria.escribirVarint(out, FormatoTrazaBinaria.zigzag((long) offset - offsetAnterior[matriz]));
+        
+        filaAnterior = fila;
+        columnaAnterior = columna;
+        paginaAnterior[matriz] = pagina;
+        offsetAnterior[matriz] = offset;
+        referenciasEscritas++;
+    }
+    
+    /**
+     * Número de referencias escritas hasta ahora
+     */
+    public long getReferenciasEscritas() {
+        return referenciasEscritas;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,129 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escribe un archivo de proceso en el formato de texto del anexo
+ * Las líneas se arman directamente en un buffer de bytes reutilizable que
+ * se vuelca al archivo por bloques grandes a través de un FileChannel
+ */
+public class EscritorTrazaTexto implements EscritorTraza {
+    
+    private static final int TAMANO_BUFFER = 1 << 18; // 256 KB
+    private static final int MAX_BYTES_LINEA = 64;
+    private static final byte[] FIN_LINEA = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    
+    private FileChannel canal;
+    private byte[] datos;
+    private ByteBuffer buffer;
+    private int usados;
+    private byte[] digitos;
+    
+    /**
+     * Crea el archivo y escribe el encabezado (TP=, NF=, NC=, NR=, NP=)
+     */
+    public EscritorTrazaTexto(String nombreArchivo, int tamanoPagina, int numeroFilas, int numeroColumnas,
+                              long numeroReferencias, int numeroPaginas) throws IOException {
+        this.canal = FileChannel.open(new File(nombreArchivo).toPath(),
+            StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.datos = new byte[TAMANO_BUFFER];
+        this.buffer = ByteBuffer.wrap(datos);
+        this.usados = 0;
+        this.digitos = new byte[20];
+        
+        escribirCampo("TP=", tamanoPagina);
+        escribirCampo("NF=", numeroFilas);
+        escribirCampo("NC=", numeroColumnas);
+        escribirCampo("NR=", numeroReferencias);
+        escribirCampo("NP=", numeroPaginas);
+    }
+    
+    /**
+     * Escribe una línea de encabezado CLAVE=valor
+     */
+    private void escribirCampo(String clave, long valor) throws IOException {
+        asegurarEspacio();
+        for (int i = 0; i < clave.length(); i++) {
+            datos[usados++] = (byte) clave.charAt(i);
+        }
+        escribirEntero(valor);
+        escribirFinLinea();
+    }
+    
+    @Override
+    public void escribir(int matriz, int fila, int columna, int pagina, int offset, boolean escritura) throws IOException {
+        asegurarEspacio();
+        datos[usados++] = 'M';
+        escribirEntero(matriz);
+        datos[usados++] = ':';
+        datos[usados++] = '[';
+        escribirEntero(fila);
+        datos[usados++] = '-';
+        escribirEntero(columna);
+        datos[usados++] = ']';
+        datos[usados++] = ',';
+        escribirEntero(pagina);
+        datos[usados++] = ',';
+        escribirEntero(offset);
+        datos[usados++] = ',';
+        datos[usados++] = (byte) (escritura ? 'w' : 'r');
+        escribirFinLinea();
+    }
+    
+    /**
+     * Escribe un entero en decimal (igual que la concatenación de Strings, incluido el signo)
+     */
+    private void escribirEntero(long valor) {
+        long v = valor;
+        if (v < 0) {
+            datos[usados++] = '-';
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digitos[n++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) {
+            datos[usados++] = digitos[--n];
+        }
+    }
+    
+    private void escribirFinLinea() {
+        for (byte b : FIN_LINEA) {
+            datos[usados++] = b;
+        }
+    }
+    
+    /**
+     * Vuelca el buffer al archivo si no cabe una línea más
+     */
+    private void asegurarEspacio() throws IOException {
+        if (datos.length - usados < MAX_BYTES_LINEA) {
+            volcar();
+        }
+    }
+    
+    private void volcar() throws IOException {
+        buffer.clear().limit(usados);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        usados = 0;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (canal == null) {
+            return;
+        }
+        try {
+            volcar();
+        } finally {
+            canal.close();
+            canal = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import jdk.jfr.*;
+
+/**
+ * Eventos de JDK Flight Recorder del simulador
+ * Sin una grabación activa no tienen costo apreciable. Para grabarlos:
+ *   java -XX:StartFlightRecording=filename=simulacion.jfr SimuladorMemoriaVirtual
+ */
+public final class EventosJFR {
+    
+    private static final String CATEGORIA = "Simulador de memoria virtual";
+    
+    private EventosJFR() {
+    }
+    
+    @Name("caso2.CargaTraza")
+    @Label("Carga de traza")
+    @Description("Apertura de las direcciones virtuales de un proceso")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static class CargaTraza extends Event {
+        @Label("Proceso") public int proceso;
+        @Label("Origen") public String origen;
+        @Label("Referencias") public long referencias;
+        @Label("Páginas") public int paginas;
+    }
+    
+    @Name("caso2.FalloPagina")
+    @Label("Fallo de página")
+    @Description("Atención de un fallo de página: carga en un marco vacío o reemplazo")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static class FalloPagina extends Event {
+        @Label("Proceso") public int proceso;
+        @Label("Turno") public long turno;
+        @Label("Página") public int pagina;
+        @Label("Marco") public int marco;
+        @Label("Página desalojada") public int paginaDesalojada;
+        @Label("Desalojada modificada") @Description("La página desalojada se guardó en SWAP") public boolean paginaDesalojadaModificada;
+    }
+    
+    @Name("caso2.ReasignacionMarcos")
+    @Label("Reasignación de marcos")
+    @Description("Marcos de un proceso terminado entregados al proceso con más fallos")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static class ReasignacionMarcos extends Event {
+        @Label("Proceso destino") @Description("-1 si no quedaban procesos activos") public int procesoDestino;
+        @Label("Marcos") public int marcos;
+        @Label("Fallos del destino") public long fallosDestino;
+    }
+    
+    @Name("caso2.ProcesoTerminado")
+    @Label("Proceso terminado")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static class ProcesoTerminado extends Event {
+        @Label("Proceso") public int proceso;
+        @Label("Turno") public long turno;
+        @Label("Referencias") public long referencias;
+        @Label("Fallos") public long fallos;
+        @Label("Accesos SWAP") public long accesosSWAP;
+        @Label("Lecturas SWAP") public long lecturasSWAP;
+        @Label("Escrituras SWAP") public long escriturasSWAP;
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.*;
+
+/**
+ * Fallos de página con el reemplazo óptimo de Belady (OPT) para un proceso
+ * 
+ * Una pasada hacia atrás sobre la traza arma el índice de próximo uso: para
+ * cada referencia, la posición de la siguiente referencia a la misma página.
+ * Luego se simula hacia adelante con un montículo de máximos sobre los marcos,
+ * ordenado por el próximo uso de su página, de modo que la víctima (la página
+ * que se usará más tarde, o nunca) se obtiene en O(log marcos).
+ * Los accesos SWAP siguen la misma regla que la simulación: una lectura por
+ * fallo y una escritura al reemplazar una página que se escribió.
+ */
+public class FallosOPT {
+    
+    private static final int NUNCA = Integer.MAX_VALUE;
+    private static final int MAXIMO_REFERENCIAS = Integer.MAX_VALUE - 8; // Largo máximo de un arreglo
+    
+    private long referencias;
+    private long fallos;
+    private long lecturasSWAP;
+    private long escriturasSWAP;
+    
+    // Montículo de máximos de marcos por próximo uso
+    private int[] monticulo;  // posición en el montículo -> marco
+    private int[] posicion;   // marco -> posición en el montículo
+    private int[] proximoUso; // marco -> posición del próximo uso de su página
+    
+    private FallosOPT(int marcos) {
+        this.monticulo = new int[marcos];
+        this.posicion = new int[marcos];
+        this.proximoUso = new int[marcos];
+    }
+    
+    /**
+     * Simula OPT con la cantidad de marcos dada sobre todas las direcciones de la fuente
+     * La fuente se consume y se cierra
+     */
+    public static FallosOPT calcular(FuenteDirecciones fuente, int tamanoPagina, int marcos) {
+        if (marcos <= 0) {
+            throw new IllegalArgumentException("Error: OPT necesita al menos un marco");
+        }
+        
+        // Páginas referenciadas, en orden (el índice de próximo uso necesita toda la traza en arreglos)
+        if (fuente.getNumeroReferencias() > MAXIMO_REFERENCIAS) {
+            fuente.cerrar();
+            throw new IllegalArgumentException("Error: OPT admite trazas de hasta " + MAXIMO_REFERENCIAS +
+                " referencias; esta tiene " + fuente.getNumeroReferencias());
+        }
+        int[] paginas = new int[(int) Math.max(fuente.getNumeroReferencias(), 16)];
+        BitSet escrituras = new BitSet();
+        int total = 0;
+        int paginaMaxima = 0;
+        while (fuente.hayMas()) {
+            if (total == paginas.length) {
+                if (total == MAXIMO_REFERENCIAS) {
+                    fuente.cerrar();
+                    throw new IllegalArgumentException("Error: OPT admite trazas de hasta " + MAXIMO_REFERENCIAS + " referencias");
+                }
+                paginas = Arrays.copyOf(paginas, (int) Math.min((long) paginas.length * 2, MAXIMO_REFERENCIAS));
+            }
+            int pagina = fuente.paginaActual();
+            if (fuente.esEscritura()) {
+                escrituras.set(total);
+            }
+            paginas[total++] = pagina;
+            paginaMaxima = Math.max(paginaMaxima, pagina);
+            fuente.avanzar();
+        }
+        fuente.cerrar();
+        
+        // Pasada hacia atrás: próximo uso de cada referencia
+        int[] siguiente = new int[total];
+        int[] visto = new int[paginaMaxima + 1];
+        Arrays.fill(visto, NUNCA);
+        for (int i = total - 1; i >= 0; i--) {
+            siguiente[i] = visto[paginas[i]];
+            visto[paginas[i]] = i;
+        }
+        
+        // Simulación hacia adelante; visto se reutiliza como página -> marco
+        int[] marcoDePagina = visto;
+        Arrays.fill(marcoDePagina, -1);
+        int[] paginaDeMarco = new int[marcos];
+        boolean[] modificado = new boolean[marcos];
+        FallosOPT resultado = new FallosOPT(marcos);
+        int ocupados = 0;
+        for (int i = 0; i < total; i++) {
+            int pagina = paginas[i];
+            int marco = marcoDePagina[pagina];
+            if (marco != -1) {
+                // Acierto: el próximo uso de la página solo puede alejarse
+                resultado.proximoUso[marco] = siguiente[i];
+                resultado.subir(resultado.posicion[marco]);
+                modificado[marco] |= escrituras.get(i);
+                continue;
+            }
+            
+            resultado.fallos++;
+            resultado.lecturasSWAP++;
+            if (ocupados < marcos) {
+                marco = ocupados++;
+                resultado.proximoUso[marco] = siguiente[i];
+                resultado.monticulo[marco] = marco;
+                resultado.posicion[marco] = marco;
+                resultado.subir(marco);
+            } else {
+                marco = resultado.monticulo[0];
+                if (modificado[marco]) {
+                    resultado.escriturasSWAP++;
+                }
+                marcoDePagina[paginaDeMarco[marco]] = -1;
+                resultado.proximoUso[marco] = siguiente[i];
+                resultado.bajar(0);
+            }
+            paginaDeMarco[marco] = pagina;
+            marcoDePagina[pagina] = marco;
+            modificado[marco] = escrituras.get(i);
+        }
+        resultado.referencias = total;
+        return resultado;
+    }
+    
+    /**
+     * Sube un elemento del montículo mientras su próximo uso sea mayor que el de su padre
+     */
+    private void subir(int i) {
+        int marco = monticulo[i];
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (proximoUso[monticulo[padre]] >= proximoUso[marco]) break;
+            monticulo[i] = monticulo[padre];
+            posicion[monticulo[i]] = i;
+            i = padre;
+        }
+        monticulo[i] = marco;
+        posicion[marco] = i;
+    }
+    
+    /**
+     * Baja la raíz del montículo mientras algún hijo tenga un próximo uso mayor
+     */
+    private void bajar(int i) {
+        int n = monticulo.length;
+        int marco = monticulo[i];
+        while (2 * i + 1 < n) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && proximoUso[monticulo[hijo + 1]] > proximoUso[monticulo[hijo]]) {
+                hijo++;
+            }
+            if (proximoUso[monticulo[hijo]] <= proximoUso[marco]) break;
+            monticulo[i] = monticulo[hijo];
+            posicion[monticulo[i]] = i;
+            i = hijo;
+        }
+        monticulo[i] = marco;
+        posicion[marco] = i;
+    }
+    
+    public long getReferencias() { return referencias; }
+    public long getFallos() { return fallos; }
+    public long getAccesosSWAP() { return lecturasSWAP + escriturasSWAP; }
+    public long getLecturasSWAP() { return lecturasSWAP; }
+    public long getEscriturasSWAP() { return escriturasSWAP; }
+    
+    /**
+     * Tasa de fallos de OPT
+     */
+    public double getTasaFallos() {
+        return referencias == 0 ? 0.0 : (double) fallos / referencias;
+    }
+}
@@ -0,0 +1,97 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario compacto para los archivos de proceso
+ * 
+ * Encabezado: "TRZB", versión (1 byte) y TP, NF, NC, NR, NP como varints.
+ * Cada referencia es un byte de etiqueta (bits 0-3: número de matriz,
+ * bit 4: escritura) seguido de cuatro varints zigzag con las diferencias
+ * de fila y columna respecto a la referencia anterior, y de página y
+ * offset respecto a la referencia anterior a la misma matriz.
+ * Para la suma de matrices cada referencia ocupa unos 5 bytes.
+ * 
+ * Versión 2: NR y las direcciones que se arman con página y offset pueden
+ * pasar de 32 bits, así que los lectores los tratan como long. Los registros
+ * se codifican igual que en la versión 1, que se sigue pudiendo leer; el
+ * número de versión evita que un lector de la versión 1 trunque NR en silencio.
+ */
+public final class FormatoTrazaBinaria {
+    
+    public static final byte[] FIRMA = {'T', 'R', 'Z', 'B'};
+    public static final int VERSION = 2;
+    public static final int VERSION_MINIMA = 1;
+    public static final int BIT_ESCRITURA = 0x10;
+    public static final int MASCARA_MATRIZ = 0x0F;
+    public static final int MAX_MATRICES = MASCARA_MATRIZ + 1;
+    public static final int MAX_BYTES_VARINT = 10;
+    public static final int MAX_BYTES_REGISTRO = 1 + 4 * MAX_BYTES_VARINT;
+    
+    private FormatoTrazaBinaria() {
+    }
+    
+    /**
+     * Verifica si un archivo empieza con la firma del formato binario
+     */
+    public static boolean esTrazaBinaria(File archivo) throws IOException {
+        if (archivo.length() < FIRMA.length) {
+            return false;
+        }
+        DataInputStream in = new DataInputStream(new FileInputStream(archivo));
+        try {
+            byte[] firma = new byte[FIRMA.length];
+            in.readFully(firma);
+            for (int i = 0; i < FIRMA.length; i++) {
+                if (firma[i] != FIRMA[i]) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            in.close();
+        }
+    }
+    
+    /**
+     * Escribe un entero sin signo como varint (7 bits por byte)
+     */
+    public static void escribirVarint(OutputStream out, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            out.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.write((int) valor);
+    }
+    
+    /**
+     * Lee un varint desde la posición actual del buffer
+     */
+    public static long leerVarint(ByteBuffer buffer) {
+        long valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            if (desplazamiento >= 64) {
+                throw new IllegalStateException("Varint mal formado en la posición " + buffer.position());
+            }
+            b = buffer.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+    
+    /**
+     * Codifica un entero con signo para que los valores pequeños ocupen pocos bytes
+     */
+    public static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+    
+    /**
+     * Inverso de zigzag
+     */
+    public static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Fuente secuencial de direcciones virtuales de un proceso
+ * El proceso consulta la dirección actual y avanza cuando la procesa
+ */
+public interface FuenteDirecciones {
+    
+    /**
+     * Verifica si quedan direcciones por entregar
+     */
+    boolean hayMas();
+    
+    /**
+     * Obtiene la dirección actual sin avanzar
+     */
+    long actual();
+    
+    /**
+     * Obtiene la página de la dirección actual, con el TP con que se abrió la fuente
+     * Las fuentes la conocen sin dividir, así que es más barata que actual() / TP
+     */
+    int paginaActual();
+    
+    /**
+     * Indica si la dirección actual es una escritura (w) o una lectura (r)
+     */
+    boolean esEscritura();
+    
+    /**
+     * Número de la matriz (k en M<k>) a la que pertenece la dirección actual
+     */
+    int getMatriz();
+    
+    /**
+     * Avanza a la siguiente dirección
+     */
+    void avanzar();
+    
+    /**
+     * Número total de referencias (NR)
+     */
+    long getNumeroReferencias();
+    
+    /**
+     * Número de páginas virtuales (NP); las tablas de páginas se indexan con int
+     */
+    int getNumeroPaginas();
+    
+    /**
+     * Libera los recursos asociados (archivos abiertos)
+     */
+    void cerrar();
+}
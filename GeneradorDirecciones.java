@@ -0,0 +1,125 @@
+/**
+ * Fuente de direcciones que genera al vuelo las referencias de la suma de matrices
+ * matriz3[i][j] = matriz1[i][j] + matriz2[i][j], sin pasar por archivos
+ * 
+ * Produce la misma secuencia que la Opción 1 escribe en proc<i>.txt:
+ * por cada (i, j), matriz1[i][j], matriz2[i][j] y matriz3[i][j], con las
+ * tres matrices almacenadas consecutivamente en orden fila-mayor
+ */
+public class GeneradorDirecciones implements FuenteDirecciones {
+    
+    public static final int TAMANO_ENTERO = 4; // bytes
+    public static final int MATRICES = 3;
+    
+    private int filas;
+    private int columnas;
+    private int tamanoPagina;
+    private long bytesPorMatriz;
+    private long numeroReferencias;
+    private int numeroPaginas;
+    
+    // Posición actual en el doble for
+    private int fila;
+    private int columna;
+    private int matriz; // 0, 1 o 2
+    private long desplazamiento; // (fila * columnas + columna) * TAMANO_ENTERO
+    private int[] pagina;        // matriz -> página del elemento actual
+    private int[] offset;        // matriz -> offset del elemento actual en su página
+    
+    /**
+     * Constructor del generador
+     */
+    public GeneradorDirecciones(int filas, int columnas, int tamanoPagina) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.tamanoPagina = tamanoPagina;
+        this.bytesPorMatriz = (long) filas * columnas * TAMANO_ENTERO;
+        this.numeroReferencias = calcularNumeroReferencias(filas, columnas);
+        this.numeroPaginas = calcularNumeroPaginas(filas, columnas, tamanoPagina);
+        this.fila = columnas > 0 ? 0 : filas;
+        this.columna = 0;
+        this.matriz = 0;
+        this.desplazamiento = 0;
+        this.pagina = new int[MATRICES];
+        this.offset = new int[MATRICES];
+        for (int m = 0; m < MATRICES; m++) {
+            long base = m * bytesPorMatriz;
+            pagina[m] = (int) (base / tamanoPagina);
+            offset[m] = (int) (base % tamanoPagina);
+        }
+    }
+    
+    /**
+     * Número de referencias: 3 por cada elemento (dos lecturas y una escritura)
+     */
+    public static long calcularNumeroReferencias(int filas, int columnas) {
+        return (long) filas * columnas * MATRICES;
+    }
+    
+    /**
+     * Número de páginas virtuales que ocupan las 3 matrices (redondeo hacia arriba)
+     * @throws IllegalArgumentException si no caben en una tabla de páginas (más de Integer.MAX_VALUE)
+     */
+    public static int calcularNumeroPaginas(int filas, int columnas, int tamanoPagina) {
+        long bytesTotales = (long) filas * columnas * TAMANO_ENTERO * MATRICES;
+        long paginas = (bytesTotales + tamanoPagina - 1) / tamanoPagina;
+        if (paginas > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Error: matrices de " + filas + "x" + columnas + " con TP=" + tamanoPagina +
+                " ocupan " + paginas + " páginas; el máximo es " + Integer.MAX_VALUE);
+        }
+        return (int) paginas;
+    }
+    
+    @Override
+    public boolean hayMas() {
+        return fila < filas;
+    }
+    
+    @Override
+    public long actual() {
+        return matriz * bytesPorMatriz + desplazamiento;
+    }
+    
+    @Override
+    public int paginaActual() {
+        return pagina[matriz];
+    }
+    
+    @Override
+    public void avanzar() {
+        if (++matriz < MATRICES) {
+            return;
+        }
+        matriz = 0;
+        desplazamiento += TAMANO_ENTERO;
+        for (int m = 0; m < MATRICES; m++) {
+            offset[m] += TAMANO_ENTERO;
+            if (offset[m] >= tamanoPagina) {
+                pagina[m] += offset[m] / tamanoPagina;
+                offset[m] %= tamanoPagina;
+            }
+        }
+        if (++columna == columnas) {
+            columna = 0;
+            fila++;
+        }
+    }
+    
+    @Override
+    public void cerrar() {
+        // No hay recursos que liberar
+    }
+    
+    // Campos de la referencia actual
+    @Override
+    public int getMatriz() { return matriz + 1; }
+    public int getFila() { return fila; }
+    public int getColumna() { return columna; }
+    @Override
+    public boolean esEscritura() { return matriz == MATRICES - 1; }
+    
+    @Override
+    public long getNumeroReferencias() { return numeroReferencias; }
+    @Override
+    public int getNumeroPaginas() { return numeroPaginas; }
+}
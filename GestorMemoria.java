@@ -1,34 +1,66 @@
 import java.util.*;
 
 /**
- * Gestor de memoria física que implementa el algoritmo LRU
- * para el reemplazo de páginas en el simulador de memoria virtual
+ * Gestor de memoria física del simulador de memoria virtual.
+ * Cada proceso reemplaza solo páginas en sus propios marcos; la página a
+ * reemplazar la elige una PoliticaReemplazo (LRU por defecto), a la que el
+ * gestor informa qué marcos ocupa cada proceso y cuáles se acceden.
+ * Con reemplazo global (usarReemplazoGlobal) los marcos son de todos los
+ * procesos y la política guarda una sola lista, LISTA_GLOBAL, con todos ellos.
  */
 public class GestorMemoria {
     
+    private static final int LISTA_GLOBAL = 0; // Lista de la política y de marcos vacíos con reemplazo global
+    
     private int tamanoPagina;
     private int totalMarcos;
-    private Map<Integer, Integer> marcoAPagina; // marco físico -> página virtual
-    private Map<Integer, Integer> paginaAMarco; // página virtual -> marco físico
-    private Map<Integer, Long> ultimoAccesoMarco; // marco físico -> último acceso
-    private Set<Integer> marcosLibres;
-    private long contadorTiempo;
+    private int[] marcoAPagina;   // marco físico -> página virtual (-1 si está vacío)
+    private int[][] paginaAMarco; // id proceso -> página virtual -> marco físico (-1 si no está cargada)
+    private boolean[] marcoLibre; // marco físico -> no asignado a ningún proceso
+    private int marcosLibres;
+    private int[] propietarioMarco; // marco físico -> id del proceso (-1 si no tiene)
+    private int[] marcosPorProceso; // id proceso -> cantidad de marcos que tiene
+    private boolean[] marcoModificado; // marco físico -> su página se escribió desde que se cargó (bit de modificación)
+    private ListasMarcos marcosVacios; // Marcos asignados a cada proceso que aún no tienen página
+    private PoliticaReemplazo politica;
+    private int paginaDesalojada;   // Página reemplazada en la última carga (-1 si no hubo reemplazo)
+    private boolean paginaDesalojadaModificada; // La página reemplazada se había escrito y hay que guardarla en SWAP
+    private int procesoDesalojado;  // Dueño de la página reemplazada (-1 si no hubo reemplazo)
+    private boolean reemplazoGlobal; // Los marcos se comparten y la víctima puede ser de cualquier proceso
+    private List<Proceso> procesos;  // Procesos por id, para sacar de su tabla las páginas reemplazadas (solo reemplazo global)
+    private RegistroEventos registro; // Destino de los mensajes de reasignación
     
     /**
-     * Constructor del gestor de memoria
+     * Constructor del gestor de memoria con reemplazo LRU
      */
     public GestorMemoria(int tamanoPagina, int totalMarcos) {
+        this(tamanoPagina, totalMarcos, new PoliticaLRU(totalMarcos));
+    }
+    
+    /**
+     * Constructor del gestor de memoria con la política de reemplazo dada
+     */
+    public GestorMemoria(int tamanoPagina, int totalMarcos, PoliticaReemplazo politica) {
         this.tamanoPagina = tamanoPagina;
         this.totalMarcos = totalMarcos;
-        this.marcoAPagina = new HashMap<>();
-        this.paginaAMarco = new HashMap<>();
-        this.ultimoAccesoMarco = new HashMap<>();
-        this.marcosLibres = new HashSet<>();
-        this.contadorTiempo = 0;
+        this.marcoAPagina = new int[totalMarcos];
+        this.paginaAMarco = new int[0][];
+        this.marcosPorProceso = new int[0];
+        this.marcoLibre = new boolean[totalMarcos];
+        this.marcosLibres = 0;
+        this.propietarioMarco = new int[totalMarcos];
+        this.marcoModificado = new boolean[totalMarcos];
+        this.marcosVacios = new ListasMarcos(totalMarcos);
+        this.politica = politica;
+        this.paginaDesalojada = -1;
+        this.procesoDesalojado = -1;
+        this.registro = RegistroEventos.NINGUNO;
         
         // Inicializar todos los marcos como libres
         for (int i = 0; i < totalMarcos; i++) {
-            marcosLibres.add(i);
+            marcarLibre(i);
+            marcoAPagina[i] = -1;
+            propietarioMarco[i] = -1;
         }
     }
     
@@ -43,38 +75,69 @@ public class GestorMemoria {
         
         for (int i = inicio; i < fin; i++) {
             marcosAsignados.add(i);
-            marcosLibres.remove(i);
+            marcarOcupado(i);
+            entregarMarco(i, idProceso);
         }
         
         return marcosAsignados;
     }
     
+    /**
+     * Pasa a reemplazo global: los marcos, todos vacíos, se comparten entre los procesos
+     * y la víctima de cada fallo se elige entre las páginas de todos. Una página
+     * reemplazada de otro proceso se saca de la tabla de páginas de ese proceso
+     * @param procesos Procesos de la simulación, en orden de id
+     */
+    public void usarReemplazoGlobal(List<Proceso> procesos) {
+        for (int marco = 0; marco < totalMarcos; marco++) {
+            if (propietarioMarco[marco] != -1) {
+                throw new IllegalStateException("Los marcos ya están asignados a procesos");
+            }
+        }
+        this.reemplazoGlobal = true;
+        this.procesos = procesos;
+        for (int marco = 0; marco < totalMarcos; marco++) {
+            marcosVacios.agregarAlFinal(marco, LISTA_GLOBAL);
+        }
+    }
+    
     /**
      * Libera marcos de un proceso
+     * Con reemplazo global vuelven vacíos al conjunto compartido
+     * @return Cuántas de las páginas descartadas estaban modificadas
      */
-    public void liberarMarcos(Set<Integer> marcos) {
+    public int liberarMarcos(Set<Integer> marcos) {
+        int modificadas = 0;
         for (int marco : marcos) {
-            // Remover página del marco si existe
-            Integer pagina = marcoAPagina.remove(marco);
-            if (pagina != null) {
-                paginaAMarco.remove(pagina);
-                ultimoAccesoMarco.remove(marco);
+            if (marcoModificado[marco]) {
+                modificadas++;
+            }
+            if (reemplazoGlobal) {
+                if (propietarioMarco[marco] != -1) {
+                    retirarMarco(marco);
+                    marcosVacios.agregarAlFinal(marco, LISTA_GLOBAL);
+                }
+            } else {
+                // Sacar el marco del proceso que lo tenía, descartando su página
+                retirarMarco(marco);
             }
             
             // Marcar marco como libre
-            marcosLibres.add(marco);
+            marcarLibre(marco);
         }
+        return modificadas;
     }
     
     /**
      * Reasigna marcos liberados al proceso con más fallos de página
+     * Con reemplazo global no hace nada: los marcos liberados ya los pueden usar todos
      */
     public void reasignarMarcos(Set<Integer> marcosLiberados, List<Proceso> procesos) {
-        if (marcosLiberados.isEmpty()) return;
+        if (marcosLiberados.isEmpty() || reemplazoGlobal) return;
         
         // Encontrar el proceso con más fallos de página
         Proceso procesoConMasFallos = null;
-        int maxFallos = -1;
+        long maxFallos = -1;
         
         for (Proceso proceso : procesos) {
             if (!proceso.haTerminado() && proceso.getTotalFallosPagina() > maxFallos) {
@@ -83,18 +146,94 @@ public class GestorMemoria {
             }
         }
         
+        EventosJFR.ReasignacionMarcos evento = new EventosJFR.ReasignacionMarcos();
+        evento.begin();
+        
         // Asignar marcos al proceso con más fallos
         if (procesoConMasFallos != null) {
             procesoConMasFallos.asignarMarcos(marcosLiberados);
             // Los marcos ya no están libres, se asignaron al proceso
-            marcosLibres.removeAll(marcosLiberados);
-            System.out.println("Marcos reasignados al proceso " + procesoConMasFallos.getId() + 
-                             " (tenía " + maxFallos + " fallos)");
+            for (int marco : marcosLiberados) {
+                marcarOcupado(marco);
+                entregarMarco(marco, procesoConMasFallos.getId());
+            }
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                registro.marcosReasignados(procesoConMasFallos.getId(), maxFallos);
+            }
         } else {
             // Si no hay procesos activos, marcar marcos como libres
-            marcosLibres.addAll(marcosLiberados);
-            System.out.println("No hay procesos activos, marcos marcados como libres");
+            for (int marco : marcosLiberados) {
+                marcarLibre(marco);
+            }
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                registro.marcosSinProceso();
+            }
+        }
+        
+        if (evento.shouldCommit()) {
+            evento.procesoDestino = procesoConMasFallos != null ? procesoConMasFallos.getId() : -1;
+            evento.marcos = marcosLiberados.size();
+            evento.fallosDestino = maxFallos;
+            evento.commit();
+        }
+    }
+    
+    /**
+     * Pasa un marco del proceso origen al destino, que lo recibe vacío. Se usa un
+     * marco vacío del origen si lo tiene; si no, la política elige la página que se
+     * desaloja, que sale de la tabla del origen y, si estaba modificada, le cuenta
+     * una escritura SWAP
+     * @return El marco que cambió de proceso, o -1 si el origen no tiene marcos
+     */
+    public int cederMarco(Proceso origen, Proceso destino) {
+        int idOrigen = origen.getId();
+        int marco = marcosVacios.getPrimero(idOrigen);
+        if (marco == -1) {
+            marco = politica.elegirVictima(idOrigen);
+            if (marco == -1) {
+                return -1;
+            }
+            if (marcoModificado[marco]) {
+                origen.incrementarEscriturasSWAP();
+            }
+            origen.descargarPagina(marcoAPagina[marco]);
+        }
+        origen.liberarMarcos(Collections.singleton(marco));
+        entregarMarco(marco, destino.getId());
+        destino.asignarMarcos(Collections.singleton(marco));
+        return marco;
+    }
+    
+    /**
+     * Entrega a un proceso un marco libre (liberado con liberarMarcos)
+     */
+    public void entregarMarcoLibre(int marco, Proceso destino) {
+        marcarOcupado(marco);
+        entregarMarco(marco, destino.getId());
+        destino.asignarMarcos(Collections.singleton(marco));
+    }
+    
+    /**
+     * Crea un gestor independiente con solo los marcos de un proceso, todavía vacíos
+     * y en el mismo orden, y una política nueva del mismo tipo. Los gestores de
+     * procesos distintos no comparten estado y pueden usarse desde hilos distintos
+     */
+    public GestorMemoria crearParticion(int idProceso) {
+        if (reemplazoGlobal) {
+            throw new IllegalStateException("Con reemplazo global los procesos comparten los marcos");
+        }
+        GestorMemoria particion = new GestorMemoria(tamanoPagina, totalMarcos,
+            PoliticaReemplazo.crear(politica.getNombre(), totalMarcos));
+        for (int marco = 0; marco < totalMarcos; marco++) {
+            if (propietarioMarco[marco] == idProceso && marcoAPagina[marco] != -1) {
+                throw new IllegalStateException("El proceso " + idProceso + " ya tiene páginas cargadas");
+            }
+        }
+        for (int marco = marcosVacios.getPrimero(idProceso); marco != -1; marco = marcosVacios.getSiguiente(marco)) {
+            particion.marcarOcupado(marco);
+            particion.entregarMarco(marco, idProceso);
         }
+        return particion;
     }
     
     /**
@@ -104,109 +243,256 @@ public class GestorMemoria {
      * @return Marco físico donde se cargó la página, o -1 si no se pudo cargar
      */
     public int cargarPagina(int paginaVirtual, Set<Integer> marcosDisponibles) {
+        // Los marcos disponibles son los de un mismo proceso: basta con uno para saber cuál
+        for (int marco : marcosDisponibles) {
+            if (propietarioMarco[marco] != -1) {
+                return cargarPagina(paginaVirtual, propietarioMarco[marco]);
+            }
+        }
+        paginaDesalojada = -1;
+        paginaDesalojadaModificada = false;
+        return -1; // El proceso no tiene marcos
+    }
+    
+    /**
+     * Intenta cargar una página en alguno de los marcos de un proceso
+     * Si hubo que reemplazar una página, queda disponible en getPaginaDesalojada() con su
+     * dueño en getProcesoDesalojado(), y si se había escrito (hay que guardarla en SWAP),
+     * esPaginaDesalojadaModificada() es true. Con reemplazo global la página puede ser de
+     * otro proceso; en ese caso ya se sacó de la tabla de páginas de su dueño y, si estaba
+     * modificada, se le contó la escritura SWAP
+     * @param paginaVirtual Página virtual a cargar
+     * @param idProceso Proceso dueño de la página y de los marcos donde se puede cargar
+     * @return Marco físico donde se cargó la página, o -1 si no se pudo cargar
+     */
+    public int cargarPagina(int paginaVirtual, int idProceso) {
+        paginaDesalojada = -1;
+        paginaDesalojadaModificada = false;
+        procesoDesalojado = -1;
+        int lista = reemplazoGlobal ? LISTA_GLOBAL : idProceso;
+        
         // Verificar si la página ya está cargada
-        if (paginaAMarco.containsKey(paginaVirtual)) {
-            int marco = paginaAMarco.get(paginaVirtual);
-            actualizarAcceso(marco);
+        int marco = buscarMarco(paginaVirtual, idProceso);
+        if (marco != -1) {
+            politica.acceder(marco, lista);
             return marco;
         }
         
-        // Buscar marco libre en los marcos disponibles del proceso
-        for (int marco : marcosDisponibles) {
-            if (marcosLibres.contains(marco)) {
-                return asignarPaginaAMarco(paginaVirtual, marco);
+        // Usar un marco vacío del proceso (o de todos, con reemplazo global) si lo hay
+        marco = marcosVacios.getPrimero(lista);
+        if (marco != -1) {
+            marcosVacios.quitar(marco, lista);
+            if (reemplazoGlobal) {
+                marcarOcupado(marco);
+                cambiarPropietario(marco, idProceso);
             }
+            asignarPaginaAMarco(paginaVirtual, marco, idProceso);
+            politica.agregar(marco, lista);
+            return marco;
         }
         
-        // Si no hay marcos libres, usar algoritmo LRU para reemplazar
-        return reemplazarPaginaLRU(paginaVirtual, marcosDisponibles);
+        // Si no hay marcos vacíos, la política elige la página a reemplazar
+        marco = politica.elegirVictima(lista);
+        if (marco == -1) {
+            return -1; // El proceso no tiene marcos
+        }
+        paginaDesalojada = marcoAPagina[marco];
+        paginaDesalojadaModificada = marcoModificado[marco];
+        procesoDesalojado = propietarioMarco[marco];
+        paginaAMarco[procesoDesalojado][paginaDesalojada] = -1;
+        if (procesoDesalojado != idProceso) {
+            // Solo con reemplazo global: el marco pasa al proceso del fallo, y la escritura
+            // SWAP de la página modificada se cuenta a su dueño
+            Proceso duenio = procesos.get(procesoDesalojado);
+            duenio.descargarPagina(paginaDesalojada);
+            if (paginaDesalojadaModificada) {
+                duenio.incrementarEscriturasSWAP();
+            }
+            cambiarPropietario(marco, idProceso);
+        }
+        asignarPaginaAMarco(paginaVirtual, marco, idProceso);
+        politica.reemplazar(marco, lista);
+        return marco;
     }
     
     /**
-     * Asigna una página a un marco específico
+     * Registra un acceso a la página cargada en un marco (acierto)
      */
-    private int asignarPaginaAMarco(int paginaVirtual, int marco) {
-        // Remover página anterior del marco si existe
-        Integer paginaAnterior = marcoAPagina.remove(marco);
-        if (paginaAnterior != null) {
-            paginaAMarco.remove(paginaAnterior);
+    public void registrarAcceso(int marco) {
+        int propietario = propietarioMarco[marco];
+        if (propietario != -1 && marcoAPagina[marco] != -1) {
+            politica.acceder(marco, reemplazoGlobal ? LISTA_GLOBAL : propietario);
         }
-        
-        // Asignar nueva página al marco
-        marcoAPagina.put(marco, paginaVirtual);
-        paginaAMarco.put(paginaVirtual, marco);
-        ultimoAccesoMarco.put(marco, contadorTiempo++);
-        
-        // Remover marco de libres si estaba ahí
-        marcosLibres.remove(marco);
-        
-        return marco;
     }
     
     /**
-     * Reemplaza una página usando algoritmo LRU
+     * Marca como modificada (escrita) la página cargada en un marco
      */
-    private int reemplazarPaginaLRU(int paginaVirtual, Set<Integer> marcosDisponibles) {
-        // Encontrar el marco menos recientemente usado entre los disponibles
-        int marcoLRU = -1;
-        long menorTiempo = Long.MAX_VALUE;
-        
-        for (int marco : marcosDisponibles) {
-            if (marcoAPagina.containsKey(marco)) {
-                long tiempoAcceso = ultimoAccesoMarco.getOrDefault(marco, 0L);
-                if (tiempoAcceso < menorTiempo) {
-                    menorTiempo = tiempoAcceso;
-                    marcoLRU = marco;
-                }
-            }
+    public void marcarModificado(int marco) {
+        marcoModificado[marco] = true;
+    }
+    
+    /**
+     * Asigna una página de un proceso a un marco específico, todavía sin modificar
+     */
+    private void asignarPaginaAMarco(int paginaVirtual, int marco, int idProceso) {
+        asegurarCapacidadPaginas(idProceso, paginaVirtual + 1);
+        marcoModificado[marco] = false;
+        marcoAPagina[marco] = paginaVirtual;
+        paginaAMarco[idProceso][paginaVirtual] = marco;
+    }
+    
+    /**
+     * Entrega un marco a un proceso, vacío y al final de su lista de marcos vacíos
+     */
+    private void entregarMarco(int marco, int idProceso) {
+        retirarMarco(marco);
+        asegurarCapacidadPaginas(idProceso, 0);
+        propietarioMarco[marco] = idProceso;
+        marcosPorProceso[idProceso]++;
+        marcosVacios.agregarAlFinal(marco, idProceso);
+    }
+    
+    /**
+     * Pasa un marco ocupado (o recién tomado del conjunto compartido) a otro proceso,
+     * sin tocar su página ni la política; solo con reemplazo global
+     */
+    private void cambiarPropietario(int marco, int idProceso) {
+        asegurarCapacidadPaginas(idProceso, 0);
+        if (propietarioMarco[marco] != -1) {
+            marcosPorProceso[propietarioMarco[marco]]--;
         }
-        
-        if (marcoLRU != -1) {
-            return asignarPaginaAMarco(paginaVirtual, marcoLRU);
+        propietarioMarco[marco] = idProceso;
+        marcosPorProceso[idProceso]++;
+    }
+    
+    /**
+     * Quita un marco a su proceso, descartando la página que tuviera, y lo deja sin dueño
+     */
+    private void retirarMarco(int marco) {
+        int propietario = propietarioMarco[marco];
+        if (propietario == -1) {
+            return;
         }
-        
-        // Si no hay marcos ocupados, usar el primer marco disponible
-        for (int marco : marcosDisponibles) {
-            return asignarPaginaAMarco(paginaVirtual, marco);
+        int pagina = marcoAPagina[marco];
+        if (pagina != -1) {
+            politica.quitar(marco, reemplazoGlobal ? LISTA_GLOBAL : propietario);
+            paginaAMarco[propietario][pagina] = -1;
+            marcoAPagina[marco] = -1;
+            marcoModificado[marco] = false;
+        } else {
+            marcosVacios.quitar(marco, propietario);
         }
-        
-        return -1; // No se pudo reemplazar
+        marcosPorProceso[propietario]--;
+        propietarioMarco[marco] = -1;
     }
     
     /**
-     * Actualiza el tiempo de acceso de un marco
+     * Marca un marco como libre (sin proceso asignado)
      */
-    private void actualizarAcceso(int marco) {
-        ultimoAccesoMarco.put(marco, contadorTiempo++);
+    private void marcarLibre(int marco) {
+        if (!marcoLibre[marco]) {
+            marcoLibre[marco] = true;
+            marcosLibres++;
+        }
     }
     
     /**
-     * Verifica si una página está cargada en memoria
+     * Marca un marco como no libre
      */
-    public boolean paginaEnMemoria(int paginaVirtual) {
-        return paginaAMarco.containsKey(paginaVirtual);
+    private void marcarOcupado(int marco) {
+        if (marcoLibre[marco]) {
+            marcoLibre[marco] = false;
+            marcosLibres--;
+        }
+    }
+    
+    /**
+     * Amplía la tabla página -> marco de un proceso para admitir páginas hasta n - 1
+     */
+    private void asegurarCapacidadPaginas(int idProceso, int n) {
+        if (idProceso >= paginaAMarco.length) {
+            int anteriores = paginaAMarco.length;
+            paginaAMarco = Arrays.copyOf(paginaAMarco, Math.max(idProceso + 1, anteriores * 2));
+            marcosPorProceso = Arrays.copyOf(marcosPorProceso, paginaAMarco.length);
+            for (int i = anteriores; i < paginaAMarco.length; i++) {
+                paginaAMarco[i] = new int[0];
+            }
+        }
+        int anterior = paginaAMarco[idProceso].length;
+        if (n <= anterior) return;
+        paginaAMarco[idProceso] = Arrays.copyOf(paginaAMarco[idProceso], Math.max(n, anterior * 2));
+        Arrays.fill(paginaAMarco[idProceso], anterior, paginaAMarco[idProceso].length, -1);
+    }
+    
+    /**
+     * Devuelve el marco donde está cargada una página de un proceso, o -1 si no está cargada
+     */
+    private int buscarMarco(int paginaVirtual, int idProceso) {
+        if (idProceso >= paginaAMarco.length || paginaVirtual >= paginaAMarco[idProceso].length) {
+            return -1;
+        }
+        return paginaAMarco[idProceso][paginaVirtual];
+    }
+    
+    /**
+     * Verifica si una página de un proceso está cargada en memoria
+     */
+    public boolean paginaEnMemoria(int paginaVirtual, int idProceso) {
+        return buscarMarco(paginaVirtual, idProceso) != -1;
     }
     
     /**
-     * Obtiene el marco físico donde está cargada una página
+     * Obtiene el marco físico donde está cargada una página de un proceso
      */
-    public Integer obtenerMarcoFisico(int paginaVirtual) {
-        return paginaAMarco.get(paginaVirtual);
+    public Integer obtenerMarcoFisico(int paginaVirtual, int idProceso) {
+        int marco = buscarMarco(paginaVirtual, idProceso);
+        return marco != -1 ? marco : null;
     }
     
     /**
      * Obtiene estadísticas de memoria
      */
     public String obtenerEstadisticas() {
-        int marcosOcupados = totalMarcos - marcosLibres.size();
+        int marcosOcupados = totalMarcos - marcosLibres;
         return String.format(
             "Memoria: %d/%d marcos ocupados, %d marcos libres",
-            marcosOcupados, totalMarcos, marcosLibres.size()
+            marcosOcupados, totalMarcos, marcosLibres
         );
     }
     
+    /**
+     * Fija el registro que recibe los mensajes de reasignación de marcos
+     */
+    public void setRegistro(RegistroEventos registro) {
+        this.registro = registro;
+    }
+    
+    /**
+     * Marcos que le corresponden al proceso: los suyos, o con reemplazo global una parte
+     * igual de todos entre los procesos que no terminaron
+     */
+    public int getMarcosDisponibles(int idProceso) {
+        if (!reemplazoGlobal) {
+            return getMarcosProceso(idProceso);
+        }
+        int activos = 0;
+        for (Proceso proceso : procesos) {
+            if (!proceso.haTerminado()) {
+                activos++;
+            }
+        }
+        return totalMarcos / Math.max(1, activos);
+    }
+    
     // Getters
     public int getTotalMarcos() { return totalMarcos; }
-    public int getMarcosLibres() { return marcosLibres.size(); }
-    public int getMarcosOcupados() { return totalMarcos - marcosLibres.size(); }
+    public int getMarcosLibres() { return marcosLibres; }
+    public int getMarcosOcupados() { return totalMarcos - marcosLibres; }
+    public int getMarcosProceso(int idProceso) { return idProceso < marcosPorProceso.length ? marcosPorProceso[idProceso] : 0; }
+    public int getPaginaDesalojada() { return paginaDesalojada; }
+    public int getProcesoDesalojado() { return procesoDesalojado; }
+    public boolean esReemplazoGlobal() { return reemplazoGlobal; }
+    public boolean esPaginaDesalojadaModificada() { return paginaDesalojadaModificada; }
+    public PoliticaReemplazo getPolitica() { return politica; }
 }
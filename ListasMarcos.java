@@ -0,0 +1,113 @@
+import java.util.*;
+
+/**
+ * Listas doblemente enlazadas de marcos físicos, una por proceso, guardadas en arreglos
+ * Cada marco está a lo sumo en una lista, así que agregar, quitar o mover un marco
+ * toma tiempo constante y no reserva memoria
+ */
+public class ListasMarcos {
+    
+    private int[] anterior;  // marco -> marco anterior en su lista (-1 si es el primero)
+    private int[] siguiente; // marco -> marco siguiente en su lista (-1 si es el último)
+    private int[] primero;   // id proceso -> primer marco de su lista
+    private int[] ultimo;    // id proceso -> último marco de su lista
+    
+    /**
+     * Crea las listas vacías para marcos de 0 a totalMarcos - 1
+     */
+    public ListasMarcos(int totalMarcos) {
+        this.anterior = new int[totalMarcos];
+        this.siguiente = new int[totalMarcos];
+        this.primero = new int[0];
+        this.ultimo = new int[0];
+        Arrays.fill(anterior, -1);
+        Arrays.fill(siguiente, -1);
+    }
+    
+    /**
+     * Agrega un marco al final de la lista de un proceso
+     */
+    public void agregarAlFinal(int marco, int idProceso) {
+        asegurarCapacidad(idProceso + 1);
+        int cola = ultimo[idProceso];
+        anterior[marco] = cola;
+        siguiente[marco] = -1;
+        if (cola == -1) {
+            primero[idProceso] = marco;
+        } else {
+            siguiente[cola] = marco;
+        }
+        ultimo[idProceso] = marco;
+    }
+    
+    /**
+     * Agrega un marco justo antes de otro que ya está en la lista del proceso
+     */
+    public void agregarAntes(int marco, int referencia, int idProceso) {
+        int previo = anterior[referencia];
+        anterior[marco] = previo;
+        siguiente[marco] = referencia;
+        anterior[referencia] = marco;
+        if (previo == -1) {
+            primero[idProceso] = marco;
+        } else {
+            siguiente[previo] = marco;
+        }
+    }
+    
+    /**
+     * Quita un marco de la lista de un proceso
+     */
+    public void quitar(int marco, int idProceso) {
+        int previo = anterior[marco];
+        int proximo = siguiente[marco];
+        if (previo == -1) {
+            primero[idProceso] = proximo;
+        } else {
+            siguiente[previo] = proximo;
+        }
+        if (proximo == -1) {
+            ultimo[idProceso] = previo;
+        } else {
+            anterior[proximo] = previo;
+        }
+        anterior[marco] = -1;
+        siguiente[marco] = -1;
+    }
+    
+    /**
+     * Mueve un marco al final de la lista de su proceso
+     */
+    public void moverAlFinal(int marco, int idProceso) {
+        if (ultimo[idProceso] != marco) {
+            quitar(marco, idProceso);
+            agregarAlFinal(marco, idProceso);
+        }
+    }
+    
+    /**
+     * Primer marco de la lista de un proceso, o -1 si está vacía
+     */
+    public int getPrimero(int idProceso) {
+        return idProceso < primero.length ? primero[idProceso] : -1;
+    }
+    
+    /**
+     * Marco que sigue a otro en su lista, o -1 si es el último
+     */
+    public int getSiguiente(int marco) {
+        return siguiente[marco];
+    }
+    
+    /**
+     * Amplía las cabezas de lista para admitir ids de proceso hasta n - 1
+     */
+    private void asegurarCapacidad(int n) {
+        int anteriores = primero.length;
+        if (n <= anteriores) return;
+        primero = Arrays.copyOf(primero, Math.max(n, anteriores * 2));
+        ultimo = Arrays.copyOf(ultimo, primero.length);
+        Arrays.fill(primero, anteriores, primero.length, -1);
+        Arrays.fill(ultimo, anteriores, ultimo.length, -1);
+    }
+}
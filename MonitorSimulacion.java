@@ -0,0 +1,131 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.management.*;
+
+/**
+ * Publica por JMX el avance de una simulación
+ * 
+ * El ciclo de simulación no toca este objeto en cada turno: cada cierta cantidad
+ * de turnos llama a publicar(), que copia los contadores de los procesos a campos
+ * volátiles. Un hilo aparte calcula cada segundo las tasas de referencias y fallos.
+ * Se ve con jconsole o VisualVM en MBeans, caso2 > Simulacion.
+ */
+public class MonitorSimulacion implements MonitorSimulacionMBean {
+    
+    public static final int TURNOS_ENTRE_PUBLICACIONES = 65536;
+    private static final String NOMBRE = "caso2:type=Simulacion";
+    
+    private final long referenciasTotales;
+    private volatile long referencias;
+    private volatile long fallos;
+    private volatile long turno;
+    private volatile int[] marcosResidentes;
+    private volatile double referenciasPorSegundo;
+    private volatile double fallosPorSegundo;
+    
+    // Estado del muestreo de tasas (solo lo usa el hilo de muestreo)
+    private long referenciasMuestra;
+    private long fallosMuestra;
+    private long instanteMuestra;
+    private ScheduledExecutorService muestreo;
+    private ObjectName nombre;
+    
+    public MonitorSimulacion(long referenciasTotales, int numeroProcesos) {
+        this.referenciasTotales = referenciasTotales;
+        this.marcosResidentes = new int[numeroProcesos];
+    }
+    
+    /**
+     * Registra el MBean en el servidor de la plataforma e inicia el muestreo de tasas
+     */
+    public void iniciar() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            nombre = new ObjectName(NOMBRE);
+            if (servidor.isRegistered(nombre)) {
+                servidor.unregisterMBean(nombre);
+            }
+            servidor.registerMBean(this, nombre);
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudo registrar el monitor JMX " + NOMBRE, e);
+        }
+        
+        instanteMuestra = System.nanoTime();
+        muestreo = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "monitor-simulacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        muestreo.scheduleAtFixedRate(this::muestrear, 1, 1, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Copia los contadores actuales de los procesos (la llama el hilo de la simulación)
+     */
+    public void publicar(List<Proceso> procesos, long turnoActual) {
+        long totalReferencias = 0;
+        long totalFallos = 0;
+        int[] residentes = new int[procesos.size()];
+        for (int i = 0; i < procesos.size(); i++) {
+            Proceso proceso = procesos.get(i);
+            totalReferencias += proceso.getTotalReferencias();
+            totalFallos += proceso.getTotalFallosPagina();
+            residentes[i] = proceso.getPaginasResidentes();
+        }
+        publicar(totalReferencias, totalFallos, residentes, turnoActual);
+    }
+    
+    /**
+     * Publica totales ya calculados, para cuando los contadores de los procesos los
+     * cambian otros hilos
+     * @param residentes Páginas residentes por proceso; el monitor se queda con el arreglo
+     */
+    public void publicar(long totalReferencias, long totalFallos, int[] residentes, long turnoActual) {
+        referencias = totalReferencias;
+        fallos = totalFallos;
+        marcosResidentes = residentes;
+        turno = turnoActual;
+    }
+    
+    /**
+     * Detiene el muestreo y quita el MBean del servidor
+     */
+    public void detener() {
+        if (muestreo != null) {
+            muestreo.shutdownNow();
+        }
+        try {
+            if (nombre != null) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(nombre);
+            }
+        } catch (JMException e) {
+            // Ya no estaba registrado
+        }
+    }
+    
+    private void muestrear() {
+        long ahora = System.nanoTime();
+        long referenciasActuales = referencias;
+        long fallosActuales = fallos;
+        double segundos = (ahora - instanteMuestra) / 1e9;
+        referenciasPorSegundo = (referenciasActuales - referenciasMuestra) / segundos;
+        fallosPorSegundo = (fallosActuales - fallosMuestra) / segundos;
+        referenciasMuestra = referenciasActuales;
+        fallosMuestra = fallosActuales;
+        instanteMuestra = ahora;
+    }
+    
+    @Override public long getReferenciasProcesadas() { return referencias; }
+    @Override public long getReferenciasTotales() { return referenciasTotales; }
+    @Override public long getFallosPagina() { return fallos; }
+    @Override public long getTurno() { return turno; }
+    @Override public double getReferenciasPorSegundo() { return referenciasPorSegundo; }
+    @Override public double getFallosPorSegundo() { return fallosPorSegundo; }
+    @Override public int[] getMarcosResidentes() { return marcosResidentes.clone(); }
+    
+    @Override
+    public double getProgreso() {
+        return referenciasTotales == 0 ? 1.0 : (double) referencias / referenciasTotales;
+    }
+}
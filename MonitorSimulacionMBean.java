@@ -0,0 +1,21 @@
+/**
+ * Contadores de la simulación en curso, publicados por JMX (caso2:type=Simulacion)
+ */
+public interface MonitorSimulacionMBean {
+    
+    long getReferenciasProcesadas();
+    
+    long getReferenciasTotales();
+    
+    long getFallosPagina();
+    
+    long getTurno();
+    
+    double getProgreso();
+    
+    double getReferenciasPorSegundo();
+    
+    double getFallosPorSegundo();
+    
+    int[] getMarcosResidentes();
+}
@@ -0,0 +1,21 @@
+/**
+ * Niveles de detalle de los eventos de la simulación, de menor a mayor
+ */
+public enum NivelRegistro {
+    NINGUNO,     // Solo configuración y estadísticas finales
+    RESUMEN,     // Además: carga de procesos, procesos terminados y reasignación de marcos
+    FALLOS,      // Además: cada fallo de página y el progreso cada 100 turnos
+    REFERENCIAS; // Además: cada acierto
+    
+    /**
+     * Obtiene el nivel a partir de su nombre en la configuración (sin distinguir mayúsculas)
+     */
+    public static NivelRegistro desdeNombre(String nombre) {
+        for (NivelRegistro nivel : values()) {
+            if (nivel.name().equalsIgnoreCase(nombre)) {
+                return nivel;
+            }
+        }
+        throw new IllegalArgumentException("Error: REGISTRO debe ser ninguno, resumen, fallos o referencias");
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.*;
+
+/**
+ * Cola de procesos listos de la Opción 2: decide a qué proceso le toca el siguiente turno
+ * 
+ * El proceso que sale de la cola no está en ella mientras usa su turno (o su
+ * quantum); después la simulación lo vuelve a agregar si no terminó. Por eso los
+ * datos de los procesos que esperan en la cola no cambian y un planificador con
+ * prioridades puede ordenarlos por sus contadores.
+ */
+public interface Planificador extends Iterable<Proceso> {
+    
+    /**
+     * Agrega un proceso listo para correr
+     */
+    void agregar(Proceso proceso);
+    
+    /**
+     * Saca el proceso al que le toca el turno
+     * @return El proceso, o null si la cola está vacía
+     */
+    Proceso siguiente();
+    
+    /**
+     * Saca un proceso de la cola sin darle el turno
+     * @return true si estaba en la cola
+     */
+    boolean quitar(Proceso proceso);
+    
+    /**
+     * Cantidad de procesos en la cola
+     */
+    int tamano();
+    
+    default boolean estaVacio() {
+        return tamano() == 0;
+    }
+    
+    /**
+     * Nombre del planificador en la configuración (PLANIFICADOR=...)
+     */
+    String getNombre();
+    
+    /**
+     * Crea un planificador a partir de su nombre en la configuración (sin distinguir mayúsculas)
+     * @param procesos Procesos de la simulación; el id de cada uno es su posición en la lista
+     */
+    static Planificador crear(String nombre, List<Proceso> procesos) {
+        switch (nombre.toLowerCase()) {
+            case "rr":
+                return new PlanificadorRoundRobin(procesos);
+            case "restantes":
+                // El que tiene menos referencias por procesar
+                return new PlanificadorPrioridad("restantes", procesos,
+                    Comparator.comparingLong(p -> p.getNumeroReferencias() - p.getTotalReferencias()));
+            case "fallos":
+                // El que tiene menor tasa de fallos hasta ahora, que aprovecha mejor sus turnos
+                return new PlanificadorPrioridad("fallos", procesos,
+                    Comparator.comparingDouble(Proceso::getTasaFallosPagina));
+            default:
+                throw new IllegalArgumentException("Error: PLANIFICADOR debe ser rr, restantes o fallos");
+        }
+    }
+}
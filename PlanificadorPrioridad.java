@@ -0,0 +1,58 @@
+import java.util.*;
+
+/**
+ * Planificación por prioridad (PLANIFICADOR=restantes|fallos): atiende primero al
+ * proceso menor según un comparador de sus contadores; en empate, al que llegó
+ * antes a la cola
+ * 
+ * Con quantum 1 el proceso elegido suele seguir siendo el menor después de su
+ * turno, así que corre hasta que otro lo supera o termina.
+ */
+public class PlanificadorPrioridad implements Planificador {
+    
+    private final String nombre;
+    private final long[] llegada; // id proceso -> orden de su última llegada a la cola
+    private final PriorityQueue<Proceso> cola;
+    private long llegadas;
+    
+    /**
+     * @param prioridad Orden de los procesos; se evalúa con los contadores de
+     *                  cada proceso, que no cambian mientras espera en la cola
+     */
+    public PlanificadorPrioridad(String nombre, List<Proceso> procesos, Comparator<Proceso> prioridad) {
+        this.nombre = nombre;
+        this.llegada = new long[procesos.size()];
+        this.cola = new PriorityQueue<>(Math.max(procesos.size(), 1),
+            prioridad.thenComparingLong(p -> llegada[p.getId()]));
+    }
+    
+    @Override
+    public void agregar(Proceso proceso) {
+        llegada[proceso.getId()] = llegadas++;
+        cola.add(proceso);
+    }
+    
+    @Override
+    public Proceso siguiente() {
+        return cola.poll();
+    }
+    
+    @Override
+    public boolean quitar(Proceso proceso) {
+        return cola.remove(proceso);
+    }
+    
+    /**
+     * Recorre la cola sin un orden particular
+     */
+    @Override
+    public Iterator<Proceso> iterator() {
+        return cola.iterator();
+    }
+    
+    @Override
+    public int tamano() { return cola.size(); }
+    
+    @Override
+    public String getNombre() { return nombre; }
+}
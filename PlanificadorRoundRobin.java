@@ -0,0 +1,90 @@
+import java.util.*;
+
+/**
+ * Planificación por turno rotativo (PLANIFICADOR=rr): los procesos se atienden en
+ * el orden en que llegaron a la cola
+ * 
+ * La cola es un arreglo circular de ids con lugar para todos los procesos, así que
+ * agregar y sacar no reservan memoria.
+ */
+public class PlanificadorRoundRobin implements Planificador {
+    
+    private final List<Proceso> procesos;
+    private final int[] anillo;
+    private int primero;  // Posición del próximo proceso a atender
+    private int cantidad;
+    
+    public PlanificadorRoundRobin(List<Proceso> procesos) {
+        this.procesos = procesos;
+        this.anillo = new int[Math.max(procesos.size(), 1)];
+    }
+    
+    @Override
+    public void agregar(Proceso proceso) {
+        if (cantidad == anillo.length) {
+            throw new IllegalStateException("La cola de procesos ya tiene todos los procesos");
+        }
+        anillo[posicion(cantidad)] = proceso.getId();
+        cantidad++;
+    }
+    
+    @Override
+    public Proceso siguiente() {
+        if (cantidad == 0) {
+            return null;
+        }
+        int id = anillo[primero];
+        primero = posicion(1);
+        cantidad--;
+        return procesos.get(id);
+    }
+    
+    @Override
+    public boolean quitar(Proceso proceso) {
+        for (int i = 0; i < cantidad; i++) {
+            if (anillo[posicion(i)] == proceso.getId()) {
+                // Correr un lugar hacia adelante los que estaban detrás
+                for (int j = i; j < cantidad - 1; j++) {
+                    anillo[posicion(j)] = anillo[posicion(j + 1)];
+                }
+                cantidad--;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Posición en el arreglo del i-ésimo proceso de la cola
+     */
+    private int posicion(int i) {
+        int posicion = primero + i;
+        return posicion < anillo.length ? posicion : posicion - anillo.length;
+    }
+    
+    @Override
+    public Iterator<Proceso> iterator() {
+        return new Iterator<Proceso>() {
+            private int i;
+            
+            @Override
+            public boolean hasNext() {
+                return i < cantidad;
+            }
+            
+            @Override
+            public Proceso next() {
+                if (i >= cantidad) {
+                    throw new NoSuchElementException();
+                }
+                return procesos.get(anillo[posicion(i++)]);
+            }
+        };
+    }
+    
+    @Override
+    public int tamano() { return cantidad; }
+    
+    @Override
+    public String getNombre() { return "rr"; }
+}
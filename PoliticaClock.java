@@ -0,0 +1,82 @@
+import java.util.*;
+
+/**
+ * Algoritmo del reloj: los marcos ocupados de cada proceso forman un anillo que
+ * recorre una manecilla. Cada acceso solo enciende el bit de referencia del marco;
+ * al reemplazar, la manecilla apaga los bits encendidos que encuentra y se detiene
+ * en el primer marco con el bit apagado. La nueva página queda donde estaba la
+ * víctima, justo detrás de la manecilla.
+ */
+public class PoliticaClock implements PoliticaReemplazo {
+    
+    private final ListasMarcos anillo;
+    private final boolean[] referenciado; // marco -> bit de referencia
+    private int[] manecilla;              // id proceso -> próximo marco a revisar
+    
+    public PoliticaClock(int totalMarcos) {
+        this.anillo = new ListasMarcos(totalMarcos);
+        this.referenciado = new boolean[totalMarcos];
+        this.manecilla = new int[0];
+    }
+    
+    @Override
+    public void agregar(int marco, int idProceso) {
+        asegurarCapacidad(idProceso + 1);
+        if (manecilla[idProceso] == -1) {
+            anillo.agregarAlFinal(marco, idProceso);
+            manecilla[idProceso] = marco;
+        } else {
+            anillo.agregarAntes(marco, manecilla[idProceso], idProceso);
+        }
+        referenciado[marco] = true;
+    }
+    
+    @Override
+    public void quitar(int marco, int idProceso) {
+        if (manecilla[idProceso] == marco) {
+            int siguiente = avanzar(marco, idProceso);
+            manecilla[idProceso] = siguiente == marco ? -1 : siguiente;
+        }
+        anillo.quitar(marco, idProceso);
+        referenciado[marco] = false;
+    }
+    
+    @Override
+    public void acceder(int marco, int idProceso) {
+        referenciado[marco] = true;
+    }
+    
+    @Override
+    public int elegirVictima(int idProceso) {
+        if (idProceso >= manecilla.length || manecilla[idProceso] == -1) {
+            return -1;
+        }
+        int marco = manecilla[idProceso];
+        while (referenciado[marco]) {
+            referenciado[marco] = false;
+            marco = avanzar(marco, idProceso);
+        }
+        manecilla[idProceso] = avanzar(marco, idProceso);
+        return marco;
+    }
+    
+    /**
+     * Marco siguiente en el anillo del proceso
+     */
+    private int avanzar(int marco, int idProceso) {
+        int siguiente = anillo.getSiguiente(marco);
+        return siguiente != -1 ? siguiente : anillo.getPrimero(idProceso);
+    }
+    
+    private void asegurarCapacidad(int n) {
+        int anteriores = manecilla.length;
+        if (n <= anteriores) return;
+        manecilla = Arrays.copyOf(manecilla, Math.max(n, anteriores * 2));
+        Arrays.fill(manecilla, anteriores, manecilla.length, -1);
+    }
+    
+    @Override
+    public String getNombre() {
+        return "clock";
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Reemplaza la página que lleva más tiempo cargada en el proceso
+ * Los accesos no cambian el orden, así que no tienen costo
+ */
+public class PoliticaFIFO implements PoliticaReemplazo {
+    
+    private final ListasMarcos llegada;
+    
+    public PoliticaFIFO(int totalMarcos) {
+        this.llegada = new ListasMarcos(totalMarcos);
+    }
+    
+    @Override
+    public void agregar(int marco, int idProceso) {
+        llegada.agregarAlFinal(marco, idProceso);
+    }
+    
+    @Override
+    public void quitar(int marco, int idProceso) {
+        llegada.quitar(marco, idProceso);
+    }
+    
+    @Override
+    public void acceder(int marco, int idProceso) {
+        // El orden de llegada no depende de los accesos
+    }
+    
+    @Override
+    public int elegirVictima(int idProceso) {
+        return llegada.getPrimero(idProceso);
+    }
+    
+    @Override
+    public String getNombre() {
+        return "fifo";
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Reemplaza la página menos recientemente usada del proceso
+ * Cada proceso tiene una lista de sus marcos ocupados, del menos al más
+ * recientemente usado; cada acceso mueve su marco al final
+ */
+public class PoliticaLRU implements PoliticaReemplazo {
+    
+    private final ListasMarcos recencia;
+    
+    public PoliticaLRU(int totalMarcos) {
+        this.recencia = new ListasMarcos(totalMarcos);
+    }
+    
+    @Override
+    public void agregar(int marco, int idProceso) {
+        recencia.agregarAlFinal(marco, idProceso);
+    }
+    
+    @Override
+    public void quitar(int marco, int idProceso) {
+        recencia.quitar(marco, idProceso);
+    }
+    
+    @Override
+    public void acceder(int marco, int idProceso) {
+        recencia.moverAlFinal(marco, idProceso);
+    }
+    
+    @Override
+    public int elegirVictima(int idProceso) {
+        return recencia.getPrimero(idProceso);
+    }
+    
+    @Override
+    public String getNombre() {
+        return "lru";
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Política de prebúsqueda (lectura anticipada): al atender un fallo de página,
+ * propone otras páginas del mismo proceso para traerlas de SWAP en la misma
+ * operación, antes de que se referencien
+ * 
+ * Cada proceso tiene su propia instancia, así que la política puede guardar el
+ * historial de fallos del proceso. Proceso descarta las páginas propuestas que
+ * ya están cargadas o que no existen, y avisa si cada página traída se usó
+ * (util) o salió de memoria sin usarse (inutil).
+ */
+public interface PoliticaPrebusqueda {
+    
+    /**
+     * Propone las páginas a traer junto con la del fallo
+     * @param pagina Página del fallo
+     * @param matriz Matriz (k en M<k>) de la referencia que falló
+     * @param paginas Recibe las páginas propuestas
+     * @param maximo Máximo de páginas a proponer (no más que paginas.length)
+     * @return Cantidad de páginas propuestas
+     */
+    int proponer(int pagina, int matriz, int[] paginas, int maximo);
+    
+    /**
+     * Una página traída por prebúsqueda se referenció
+     */
+    default void util() {
+    }
+    
+    /**
+     * Una página traída por prebúsqueda salió de memoria sin haberse referenciado
+     */
+    default void inutil() {
+    }
+    
+    /**
+     * Máximo de páginas que la política propone en un fallo (VENTANA=n)
+     */
+    int getVentana();
+    
+    /**
+     * Nombre de la política en la configuración (PREBUSQUEDA=...)
+     */
+    String getNombre();
+    
+    /**
+     * Crea una política a partir de su nombre en la configuración (sin distinguir mayúsculas)
+     * @return La política, o null si el nombre es "ninguna"
+     */
+    static PoliticaPrebusqueda crear(String nombre, int ventana) {
+        if (ventana <= 0) {
+            throw new IllegalArgumentException("Error: VENTANA debe ser un número entero positivo");
+        }
+        switch (nombre.toLowerCase()) {
+            case "ninguna":
+                return null;
+            case "fija":
+                return new PrebusquedaFija(ventana);
+            case "adaptativa":
+                return new PrebusquedaAdaptativa(ventana);
+            case "zancada":
+                return new PrebusquedaZancada(ventana);
+            default:
+                throw new IllegalArgumentException("Error: PREBUSQUEDA debe ser ninguna, fija, adaptativa o zancada");
+        }
+    }
+}
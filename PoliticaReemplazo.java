@@ -0,0 +1,61 @@
+/**
+ * Política que elige qué página reemplazar cuando un proceso no tiene marcos vacíos
+ * 
+ * GestorMemoria le informa qué marcos ocupados tiene cada proceso y cuáles se
+ * acceden; la política solo guarda su propio orden o bits de referencia.
+ * Los marcos van de 0 a totalMarcos - 1 y los procesos se identifican por id.
+ */
+public interface PoliticaReemplazo {
+    
+    /**
+     * Un marco del proceso pasó a tener una página cargada
+     */
+    void agregar(int marco, int idProceso);
+    
+    /**
+     * Un marco dejó de tener página cargada o de pertenecer al proceso
+     */
+    void quitar(int marco, int idProceso);
+    
+    /**
+     * La página de un marco del proceso se volvió a referenciar
+     */
+    void acceder(int marco, int idProceso);
+    
+    /**
+     * Elige el marco cuya página se reemplaza, entre los marcos ocupados del proceso
+     * @return El marco elegido, o -1 si el proceso no tiene marcos ocupados
+     */
+    int elegirVictima(int idProceso);
+    
+    /**
+     * El marco elegido como víctima recibió la nueva página
+     */
+    default void reemplazar(int marco, int idProceso) {
+        quitar(marco, idProceso);
+        agregar(marco, idProceso);
+    }
+    
+    /**
+     * Nombre de la política en la configuración (POLITICA=...)
+     */
+    String getNombre();
+    
+    /**
+     * Crea una política a partir de su nombre en la configuración (sin distinguir mayúsculas)
+     */
+    static PoliticaReemplazo crear(String nombre, int totalMarcos) {
+        switch (nombre.toLowerCase()) {
+            case "lru":
+                return new PoliticaLRU(totalMarcos);
+            case "fifo":
+                return new PoliticaFIFO(totalMarcos);
+            case "clock":
+                return new PoliticaClock(totalMarcos);
+            case "segunda":
+                return new PoliticaSegundaOportunidad(totalMarcos);
+            default:
+                throw new IllegalArgumentException("Error: POLITICA debe ser lru, fifo, clock o segunda");
+        }
+    }
+}
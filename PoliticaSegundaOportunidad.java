@@ -0,0 +1,49 @@
+/**
+ * Segunda oportunidad: FIFO con bits de referencia
+ * Si la página más antigua fue referenciada desde que llegó o desde su última
+ * oportunidad, se le apaga el bit y pasa al final de la cola en lugar de salir.
+ * Elige las mismas víctimas que el reloj, pero moviendo marcos en la lista.
+ */
+public class PoliticaSegundaOportunidad implements PoliticaReemplazo {
+    
+    private final ListasMarcos llegada;
+    private final boolean[] referenciado; // marco -> bit de referencia
+    
+    public PoliticaSegundaOportunidad(int totalMarcos) {
+        this.llegada = new ListasMarcos(totalMarcos);
+        this.referenciado = new boolean[totalMarcos];
+    }
+    
+    @Override
+    public void agregar(int marco, int idProceso) {
+        llegada.agregarAlFinal(marco, idProceso);
+        referenciado[marco] = true;
+    }
+    
+    @Override
+    public void quitar(int marco, int idProceso) {
+        llegada.quitar(marco, idProceso);
+        referenciado[marco] = false;
+    }
+    
+    @Override
+    public void acceder(int marco, int idProceso) {
+        referenciado[marco] = true;
+    }
+    
+    @Override
+    public int elegirVictima(int idProceso) {
+        int marco = llegada.getPrimero(idProceso);
+        while (marco != -1 && referenciado[marco]) {
+            referenciado[marco] = false;
+            llegada.moverAlFinal(marco, idProceso);
+            marco = llegada.getPrimero(idProceso);
+        }
+        return marco;
+    }
+    
+    @Override
+    public String getNombre() {
+        return "segunda";
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Prebúsqueda con ventana adaptativa: trae las páginas siguientes a la del fallo,
+ * empezando con una; la ventana se duplica cada vez que una página traída se usa
+ * (hasta VENTANA) y se reduce a la mitad cuando una sale de memoria sin usarse
+ */
+public class PrebusquedaAdaptativa implements PoliticaPrebusqueda {
+    
+    private final int ventanaMaxima;
+    private int ventana;
+    
+    public PrebusquedaAdaptativa(int ventanaMaxima) {
+        this.ventanaMaxima = ventanaMaxima;
+        this.ventana = 1;
+    }
+    
+    @Override
+    public int proponer(int pagina, int matriz, int[] paginas, int maximo) {
+        int cantidad = Math.min(ventana, maximo);
+        for (int i = 0; i < cantidad; i++) {
+            paginas[i] = pagina + 1 + i;
+        }
+        return cantidad;
+    }
+    
+    @Override
+    public void util() {
+        ventana = Math.min(ventana * 2, ventanaMaxima);
+    }
+    
+    @Override
+    public void inutil() {
+        ventana = Math.max(ventana / 2, 1);
+    }
+    
+    @Override
+    public int getVentana() {
+        return ventanaMaxima;
+    }
+    
+    @Override
+    public String getNombre() {
+        return "adaptativa";
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Prebúsqueda con ventana fija: en cada fallo trae las páginas siguientes a la del fallo
+ */
+public class PrebusquedaFija implements PoliticaPrebusqueda {
+    
+    private final int ventana;
+    
+    public PrebusquedaFija(int ventana) {
+        this.ventana = ventana;
+    }
+    
+    @Override
+    public int proponer(int pagina, int matriz, int[] paginas, int maximo) {
+        int cantidad = Math.min(ventana, maximo);
+        for (int i = 0; i < cantidad; i++) {
+            paginas[i] = pagina + 1 + i;
+        }
+        return cantidad;
+    }
+    
+    @Override
+    public int getVentana() {
+        return ventana;
+    }
+    
+    @Override
+    public String getNombre() {
+        return "fija";
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.*;
+
+/**
+ * Prebúsqueda por flujos con detección de zancada: los fallos de cada matriz forman
+ * un flujo. Cuando un fallo cae a la misma distancia (zancada) de la última página
+ * del flujo que el anterior, el flujo se confirma y se traen las páginas siguientes
+ * con esa zancada; si no, solo se aprende la nueva zancada. Después de traerlas, el
+ * próximo fallo esperado del flujo es el que sigue a la última página traída.
+ */
+public class PrebusquedaZancada implements PoliticaPrebusqueda {
+    
+    private static class Flujo {
+        int ultimaPagina; // Última página del flujo (del fallo o traída por prebúsqueda)
+        int zancada;      // Distancia entre páginas consecutivas (0 si aún no se conoce)
+    }
+    
+    private final int ventana;
+    private final Map<Integer, Flujo> flujos; // matriz -> flujo
+    
+    public PrebusquedaZancada(int ventana) {
+        this.ventana = ventana;
+        this.flujos = new HashMap<>();
+    }
+    
+    @Override
+    public int proponer(int pagina, int matriz, int[] paginas, int maximo) {
+        Flujo flujo = flujos.get(matriz);
+        if (flujo == null) {
+            flujo = new Flujo();
+            flujo.ultimaPagina = pagina;
+            flujos.put(matriz, flujo);
+            return 0;
+        }
+        if (flujo.zancada == 0 || (long) flujo.ultimaPagina + flujo.zancada != pagina) {
+            flujo.zancada = pagina - flujo.ultimaPagina;
+            flujo.ultimaPagina = pagina;
+            return 0;
+        }
+        int cantidad = 0;
+        long siguiente = pagina;
+        while (cantidad < Math.min(ventana, maximo)) {
+            siguiente += flujo.zancada;
+            if (siguiente < 0 || siguiente > Integer.MAX_VALUE) {
+                break;
+            }
+            paginas[cantidad++] = (int) siguiente;
+        }
+        flujo.ultimaPagina = cantidad > 0 ? paginas[cantidad - 1] : pagina;
+        return cantidad;
+    }
+    
+    @Override
+    public int getVentana() {
+        return ventana;
+    }
+    
+    @Override
+    public String getNombre() {
+        return "zancada";
+    }
+}
@@ -7,91 +7,267 @@ import java.util.*;
 public class Proceso {
     
     private int id;
-    private List<Integer> direccionesVirtuales;
-    private Map<Integer, Integer> tablaPaginas; // página virtual -> marco físico
+    private FuenteDirecciones direccionesVirtuales;
+    private int[] tablaPaginas; // página virtual -> marco físico (-1 si no está cargada)
     private Set<Integer> marcosAsignados;
-    private int indiceDireccionActual;
-    private int totalReferencias;
-    private int totalFallosPagina;
-    private int totalAccesosSWAP;
+    private long totalReferencias;
+    private long totalFallosPagina;
+    private long totalLecturasSWAP;   // Páginas traídas desde SWAP
+    private long totalEscriturasSWAP; // Páginas modificadas guardadas en SWAP al reemplazarlas
+    private int paginasResidentes; // Entradas válidas de la tabla de páginas
+    private PoliticaPrebusqueda prebusqueda; // Páginas a traer junto con la de cada fallo (null si no hay)
+    private boolean[] prebuscada;  // página virtual -> traída por prebúsqueda y aún no referenciada
+    private int[] propuestas;      // Páginas propuestas por la prebúsqueda en el fallo actual
+    private long totalPrebusquedas;
+    private long prebusquedasUtiles;
+    private DispositivoSWAP dispositivo; // Recibe las transferencias de cada fallo (null si no se modela)
+    private long tiempoBloqueado; // Tiempo esperando al dispositivo de SWAP
+    private boolean suspendido;   // Fuera de la cola por el control de carga
+    private long turnoSuspension; // Turno de la última suspensión
+    private long turnosSuspendido;
+    private long suspensiones;
     private long ultimoAcceso; // Para algoritmo LRU
     
     /**
      * Constructor del proceso
+     * Las direcciones se consumen de la fuente a medida que se procesan;
+     * la tabla de páginas se dimensiona con el NP de la fuente
      */
-    public Proceso(int id, List<Integer> direccionesVirtuales) {
+    public Proceso(int id, FuenteDirecciones direccionesVirtuales) {
         this.id = id;
-        this.direccionesVirtuales = new ArrayList<>(direccionesVirtuales);
-        this.tablaPaginas = new HashMap<>();
+        this.direccionesVirtuales = direccionesVirtuales;
+        this.tablaPaginas = new int[direccionesVirtuales.getNumeroPaginas()];
+        Arrays.fill(this.tablaPaginas, -1);
         this.marcosAsignados = new HashSet<>();
-        this.indiceDireccionActual = 0;
         this.totalReferencias = 0;
         this.totalFallosPagina = 0;
-        this.totalAccesosSWAP = 0;
+        this.totalLecturasSWAP = 0;
+        this.totalEscriturasSWAP = 0;
+        this.paginasResidentes = 0;
         this.ultimoAcceso = 0;
     }
     
+    /**
+     * Fija la política de prebúsqueda del proceso (null para no prebuscar)
+     */
+    public void setPrebusqueda(PoliticaPrebusqueda prebusqueda) {
+        this.prebusqueda = prebusqueda;
+        this.prebuscada = prebusqueda != null ? new boolean[tablaPaginas.length] : null;
+        this.propuestas = prebusqueda != null ? new int[prebusqueda.getVentana()] : null;
+    }
+    
+    /**
+     * Fija el dispositivo de SWAP que recibe las lecturas y escrituras de cada fallo (null para no modelarlo)
+     */
+    public void setDispositivo(DispositivoSWAP dispositivo) {
+        this.dispositivo = dispositivo;
+    }
+    
     /**
      * Obtiene la siguiente dirección virtual a procesar
+     * @return La dirección, o -1 si no hay más direcciones
      */
-    public Integer obtenerSiguienteDireccion() {
-        if (indiceDireccionActual >= direccionesVirtuales.size()) {
-            return null; // No hay más direcciones
+    public long obtenerSiguienteDireccion() {
+        if (!direccionesVirtuales.hayMas()) {
+            return -1; // No hay más direcciones
         }
-        return direccionesVirtuales.get(indiceDireccionActual);
+        return direccionesVirtuales.actual();
+    }
+    
+    /**
+     * Obtiene la página de la siguiente dirección a procesar, sin dividir por TP
+     * @return La página, o -1 si no hay más direcciones
+     */
+    public int obtenerPaginaActual() {
+        if (!direccionesVirtuales.hayMas()) {
+            return -1;
+        }
+        return direccionesVirtuales.paginaActual();
     }
     
     /**
      * Marca la dirección actual como procesada
      */
     public void procesarDireccion() {
-        indiceDireccionActual++;
+        direccionesVirtuales.avanzar();
         totalReferencias++;
     }
     
+    /**
+     * Procesa de una vez las siguientes direcciones cuya página ya está en memoria
+     * Los accesos se informan al gestor una vez por cada cambio de página: repetir
+     * el acceso a la misma página sin otro en medio no cambia la política de reemplazo.
+     * Las escrituras marcan el marco de su página como modificado, y la primera referencia
+     * a una página traída por prebúsqueda la cuenta como útil
+     * @param maximo Máximo de direcciones a procesar
+     * @param direcciones Si no es null, recibe las direcciones procesadas
+     * @return Cantidad de direcciones procesadas
+     */
+    public int avanzarAciertos(int maximo, GestorMemoria gestor, long[] direcciones) {
+        int procesadas = 0;
+        int paginaAnterior = -1;
+        while (procesadas < maximo && direccionesVirtuales.hayMas()) {
+            int pagina = direccionesVirtuales.paginaActual();
+            if (!paginaEnMemoria(pagina)) {
+                break;
+            }
+            if (pagina != paginaAnterior) {
+                gestor.registrarAcceso(tablaPaginas[pagina]);
+                paginaAnterior = pagina;
+                if (prebuscada != null && prebuscada[pagina]) {
+                    prebuscada[pagina] = false;
+                    prebusquedasUtiles++;
+                    prebusqueda.util();
+                }
+            }
+            if (direccionesVirtuales.esEscritura()) {
+                gestor.marcarModificado(tablaPaginas[pagina]);
+            }
+            if (direcciones != null) {
+                direcciones[procesadas] = direccionesVirtuales.actual();
+            }
+            direccionesVirtuales.avanzar();
+            procesadas++;
+        }
+        totalReferencias += procesadas;
+        return procesadas;
+    }
+    
     /**
      * Verifica si el proceso ha terminado
      */
     public boolean haTerminado() {
-        return indiceDireccionActual >= direccionesVirtuales.size();
+        return !direccionesVirtuales.hayMas();
     }
     
     /**
      * Convierte una dirección virtual en número de página
      */
-    public int direccionAPagina(int direccionVirtual, int tamanoPagina) {
-        return direccionVirtual / tamanoPagina;
+    public int direccionAPagina(long direccionVirtual, int tamanoPagina) {
+        return (int) (direccionVirtual / tamanoPagina);
     }
     
     /**
      * Verifica si una página está cargada en memoria
      */
     public boolean paginaEnMemoria(int paginaVirtual) {
-        return tablaPaginas.containsKey(paginaVirtual);
+        return paginaVirtual < tablaPaginas.length && tablaPaginas[paginaVirtual] != -1;
     }
     
     /**
      * Obtiene el marco físico donde está cargada una página
      */
     public Integer obtenerMarcoFisico(int paginaVirtual) {
-        return tablaPaginas.get(paginaVirtual);
+        return paginaEnMemoria(paginaVirtual) ? tablaPaginas[paginaVirtual] : null;
     }
     
     /**
      * Carga una página en un marco físico
      */
     public void cargarPagina(int paginaVirtual, int marcoFisico) {
-        tablaPaginas.put(paginaVirtual, marcoFisico);
+        if (paginaVirtual >= tablaPaginas.length) {
+            int anterior = tablaPaginas.length;
+            tablaPaginas = Arrays.copyOf(tablaPaginas, Math.max(paginaVirtual + 1, anterior * 2));
+            Arrays.fill(tablaPaginas, anterior, tablaPaginas.length, -1);
+            if (prebuscada != null) {
+                prebuscada = Arrays.copyOf(prebuscada, tablaPaginas.length);
+            }
+        }
+        if (tablaPaginas[paginaVirtual] == -1) {
+            paginasResidentes++;
+        }
+        tablaPaginas[paginaVirtual] = marcoFisico;
         marcosAsignados.add(marcoFisico);
     }
     
     /**
-     * Descarga una página de memoria
+     * Atiende un fallo de página: la carga en uno de los marcos del proceso, saca de la
+     * tabla la página reemplazada si la hubo y cuenta el fallo y sus accesos SWAP: una
+     * lectura para traer la página y, si la reemplazada estaba modificada, una escritura.
+     * Si hay prebúsqueda, las páginas propuestas se cargan antes que la del fallo, así
+     * que la del fallo queda cargada aunque la política reemplace alguna de ellas;
+     * getPaginaDesalojada() del gestor corresponde a la carga de la página del fallo
+     * @return Marco físico donde se cargó la página, o -1 si no se pudo cargar
+     */
+    public int atenderFallo(int paginaVirtual, GestorMemoria gestor) {
+        if (prebusqueda != null) {
+            prebuscar(paginaVirtual, gestor);
+        }
+        int marcoAsignado = gestor.cargarPagina(paginaVirtual, id);
+        if (marcoAsignado == -1) {
+            return -1;
+        }
+        registrarCarga(paginaVirtual, marcoAsignado, gestor);
+        incrementarFallosPagina();
+        return marcoAsignado;
+    }
+    
+    /**
+     * Trae las páginas que propone la política de prebúsqueda para un fallo, a lo sumo
+     * la parte de cada matriz en los marcos disponibles para el proceso menos uno (el que
+     * recibe la página del fallo): así la ventana de una matriz no desaloja las páginas
+     * en uso de las otras. Cada una cuenta sus accesos SWAP, pero no es un fallo
+     */
+    private void prebuscar(int paginaVirtual, GestorMemoria gestor) {
+        int maximo = Math.min(propuestas.length, gestor.getMarcosDisponibles(id) / GeneradorDirecciones.MATRICES - 1);
+        if (maximo <= 0) {
+            return;
+        }
+        int cantidad = prebusqueda.proponer(paginaVirtual, direccionesVirtuales.getMatriz(), propuestas, maximo);
+        int numeroPaginas = direccionesVirtuales.getNumeroPaginas();
+        for (int i = 0; i < cantidad; i++) {
+            int pagina = propuestas[i];
+            if (pagina < 0 || pagina >= numeroPaginas || pagina == paginaVirtual || paginaEnMemoria(pagina)) {
+                continue;
+            }
+            int marco = gestor.cargarPagina(pagina, id);
+            if (marco == -1) {
+                return;
+            }
+            registrarCarga(pagina, marco, gestor);
+            prebuscada[pagina] = true;
+            totalPrebusquedas++;
+        }
+    }
+    
+    /**
+     * Registra una página que el gestor acaba de cargar: saca de la tabla la que reemplazó,
+     * si la hubo y era del proceso, y cuenta la lectura SWAP y la escritura si la reemplazada
+     * era del proceso y estaba modificada (con reemplazo global, si era de otro, el gestor ya
+     * la sacó de la tabla de su dueño y le contó la escritura)
+     */
+    private void registrarCarga(int paginaVirtual, int marco, GestorMemoria gestor) {
+        int paginaDesalojada = gestor.getPaginaDesalojada();
+        boolean propia = paginaDesalojada != -1 && gestor.getProcesoDesalojado() == id;
+        if (propia) {
+            descargarPagina(paginaDesalojada);
+        }
+        cargarPagina(paginaVirtual, marco);
+        incrementarLecturasSWAP();
+        if (propia && gestor.esPaginaDesalojadaModificada()) {
+            incrementarEscriturasSWAP();
+        }
+        if (dispositivo != null) {
+            dispositivo.leer(paginaVirtual);
+            if (gestor.esPaginaDesalojadaModificada()) {
+                dispositivo.escribir(gestor.getProcesoDesalojado(), paginaDesalojada);
+            }
+        }
+    }
+    
+    /**
+     * Descarga una página de memoria; si se había traído por prebúsqueda y no se
+     * referenció, la cuenta como inútil
      */
     public void descargarPagina(int paginaVirtual) {
-        Integer marcoFisico = tablaPaginas.remove(paginaVirtual);
-        if (marcoFisico != null) {
-            marcosAsignados.remove(marcoFisico);
+        if (prebuscada != null && paginaVirtual < prebuscada.length && prebuscada[paginaVirtual]) {
+            prebuscada[paginaVirtual] = false;
+            prebusqueda.inutil();
+        }
+        if (paginaEnMemoria(paginaVirtual)) {
+            marcosAsignados.remove(tablaPaginas[paginaVirtual]);
+            tablaPaginas[paginaVirtual] = -1;
+            paginasResidentes--;
         }
     }
     
@@ -99,7 +275,13 @@ public class Proceso {
      * Obtiene todas las páginas cargadas en memoria
      */
     public Set<Integer> obtenerPaginasCargadas() {
-        return new HashSet<>(tablaPaginas.keySet());
+        Set<Integer> paginas = new HashSet<>();
+        for (int pagina = 0; pagina < tablaPaginas.length; pagina++) {
+            if (tablaPaginas[pagina] != -1) {
+                paginas.add(pagina);
+            }
+        }
+        return paginas;
     }
     
     /**
@@ -122,11 +304,10 @@ public class Proceso {
     public void liberarMarcos(Set<Integer> marcos) {
         this.marcosAsignados.removeAll(marcos);
         // Remover páginas que estaban en esos marcos
-        Iterator<Map.Entry<Integer, Integer>> it = tablaPaginas.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Integer, Integer> entry = it.next();
-            if (marcos.contains(entry.getValue())) {
-                it.remove();
+        for (int pagina = 0; pagina < tablaPaginas.length; pagina++) {
+            if (tablaPaginas[pagina] != -1 && marcos.contains(tablaPaginas[pagina])) {
+                tablaPaginas[pagina] = -1;
+                paginasResidentes--;
             }
         }
     }
@@ -139,10 +320,49 @@ public class Proceso {
     }
     
     /**
-     * Incrementa contador de accesos SWAP
+     * Incrementa contador de lecturas SWAP (página traída a memoria)
+     */
+    public void incrementarLecturasSWAP() {
+        totalLecturasSWAP++;
+    }
+    
+    /**
+     * Incrementa contador de escrituras SWAP (página modificada guardada al reemplazarla)
+     */
+    public void incrementarEscriturasSWAP() {
+        totalEscriturasSWAP++;
+    }
+    
+    /**
+     * Suma tiempo esperando al dispositivo de SWAP
+     */
+    public void agregarTiempoBloqueado(long tiempo) {
+        tiempoBloqueado += tiempo;
+    }
+    
+    /**
+     * Suspende el proceso: todas sus páginas salen de memoria y las modificadas se
+     * guardan en SWAP. Los marcos los libera el gestor antes de llamar a este método
+     * @param modificadas Páginas modificadas que tenía en los marcos liberados
+     */
+    public void suspender(long turno, int modificadas) {
+        for (int pagina = 0; pagina < tablaPaginas.length; pagina++) {
+            if (tablaPaginas[pagina] != -1) {
+                descargarPagina(pagina);
+            }
+        }
+        totalEscriturasSWAP += modificadas;
+        suspendido = true;
+        turnoSuspension = turno;
+        suspensiones++;
+    }
+    
+    /**
+     * Reanuda el proceso suspendido; sus páginas vuelven con fallos normales
      */
-    public void incrementarAccesosSWAP(int cantidad) {
-        totalAccesosSWAP += cantidad;
+    public void reanudar(long turno) {
+        suspendido = false;
+        turnosSuspendido += turno - turnoSuspension;
     }
     
     /**
@@ -154,9 +374,21 @@ public class Proceso {
     
     // Getters
     public int getId() { return id; }
-    public int getTotalReferencias() { return totalReferencias; }
-    public int getTotalFallosPagina() { return totalFallosPagina; }
-    public int getTotalAccesosSWAP() { return totalAccesosSWAP; }
+    public long getTotalReferencias() { return totalReferencias; }
+    public long getTotalFallosPagina() { return totalFallosPagina; }
+    public long getTotalAccesosSWAP() { return totalLecturasSWAP + totalEscriturasSWAP; }
+    public long getTotalLecturasSWAP() { return totalLecturasSWAP; }
+    public long getTotalEscriturasSWAP() { return totalEscriturasSWAP; }
+    public PoliticaPrebusqueda getPrebusqueda() { return prebusqueda; }
+    public long getTotalPrebusquedas() { return totalPrebusquedas; }
+    public long getPrebusquedasUtiles() { return prebusquedasUtiles; }
+    public long getPrebusquedasInutiles() { return totalPrebusquedas - prebusquedasUtiles; }
+    public long getTiempoBloqueado() { return tiempoBloqueado; }
+    public boolean estaSuspendido() { return suspendido; }
+    public long getTurnosSuspendido() { return turnosSuspendido; }
+    public long getSuspensiones() { return suspensiones; }
+    public int getPaginasResidentes() { return paginasResidentes; }
+    public long getNumeroReferencias() { return direccionesVirtuales.getNumeroReferencias(); }
     public long getUltimoAcceso() { return ultimoAcceso; }
     public int getNumeroMarcosAsignados() { return marcosAsignados.size(); }
     
@@ -182,7 +414,7 @@ public class Proceso {
     public String obtenerEstadisticas() {
         return String.format(
             "Proceso %d: Referencias=%d, Fallos=%d, SWAP=%d, TasaFallos=%.3f, TasaAciertos=%.3f",
-            id, totalReferencias, totalFallosPagina, totalAccesosSWAP, 
+            id, totalReferencias, totalFallosPagina, getTotalAccesosSWAP(), 
             getTasaFallosPagina(), getTasaAciertos()
         );
     }
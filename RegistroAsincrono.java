@@ -0,0 +1,260 @@
+import java.io.*;
+import java.util.concurrent.*;
+
+/**
+ * Registro de eventos que escribe en un hilo aparte
+ * 
+ * La simulación guarda cada evento como números en un lote (long[]) y, al
+ * llenarlo, lo entrega al hilo escritor, que arma el texto y lo escribe de una
+ * vez. Los lotes se reciclan, así que registrar un evento no reserva memoria;
+ * la simulación solo espera si el escritor tiene todos los lotes pendientes, y
+ * si el hilo escritor terminó por un error, falla con ese error en vez de esperar.
+ */
+public class RegistroAsincrono implements RegistroEventos {
+    
+    private static final int CAMPOS = 5; // tipo y hasta cuatro valores
+    private static final int EVENTOS_POR_LOTE = 8192;
+    private static final int LOTES = 4;
+    private static final long ESPERA_MS = 100; // Cada cuánto se revisa, al esperar, que el escritor siga vivo
+    
+    private static final int FALLO = 0;
+    private static final int ACIERTO = 1;
+    private static final int TERMINADO = 2;
+    private static final int REASIGNADOS = 3;
+    private static final int SIN_PROCESO = 4;
+    private static final int MOVIDO = 5;
+    private static final int SUSPENDIDO = 6;
+    private static final int REANUDADO = 7;
+    
+    private static final long[] VACIAR = new long[0];
+    private static final long[] CERRAR = new long[0];
+    
+    private final NivelRegistro nivel;
+    private final PrintStream salida;
+    private final BlockingQueue<long[]> llenos;
+    private final BlockingQueue<long[]> libres;
+    private final Semaphore vaciado;
+    private final Thread escritor;
+    private long[] lote;
+    private int usados;
+    private volatile Throwable error;
+    
+    /**
+     * Crea el registro e inicia su hilo escritor
+     */
+    public RegistroAsincrono(PrintStream salida, NivelRegistro nivel) {
+        this.nivel = nivel;
+        this.salida = salida;
+        this.llenos = new ArrayBlockingQueue<>(LOTES + 2);
+        this.libres = new ArrayBlockingQueue<>(LOTES);
+        this.vaciado = new Semaphore(0);
+        for (int i = 0; i < LOTES - 1; i++) {
+            libres.add(new long[1 + EVENTOS_POR_LOTE * CAMPOS]);
+        }
+        this.lote = new long[1 + EVENTOS_POR_LOTE * CAMPOS];
+        this.usados = 1; // La posición 0 guarda cuántos valores tiene el lote
+        
+        this.escritor = new Thread(this::escribirLotes, "registro-eventos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+    
+    @Override
+    public boolean habilitado(NivelRegistro nivel) {
+        return nivel != NivelRegistro.NINGUNO && nivel.compareTo(this.nivel) <= 0;
+    }
+    
+    @Override
+    public void fallo(long turno, int idProceso, long direccion, int pagina) {
+        agregar(FALLO, turno, idProceso, direccion, pagina);
+    }
+    
+    @Override
+    public void acierto(long turno, int idProceso, long direccion) {
+        agregar(ACIERTO, turno, idProceso, direccion, 0);
+    }
+    
+    @Override
+    public void procesoTerminado(int idProceso) {
+        agregar(TERMINADO, 0, idProceso, 0, 0);
+    }
+    
+    @Override
+    public void marcosReasignados(int idProceso, long fallos) {
+        agregar(REASIGNADOS, 0, idProceso, fallos, 0);
+    }
+    
+    @Override
+    public void marcosSinProceso() {
+        agregar(SIN_PROCESO, 0, 0, 0, 0);
+    }
+    
+    @Override
+    public void marcoMovido(long turno, int idOrigen, int idDestino) {
+        agregar(MOVIDO, turno, idOrigen, idDestino, 0);
+    }
+    
+    @Override
+    public void procesoSuspendido(long turno, int idProceso) {
+        agregar(SUSPENDIDO, turno, idProceso, 0, 0);
+    }
+    
+    @Override
+    public void procesoReanudado(long turno, int idProceso) {
+        agregar(REANUDADO, turno, idProceso, 0, 0);
+    }
+    
+    private void agregar(int tipo, long a, long b, long c, long d) {
+        if (usados + CAMPOS > lote.length) {
+            entregarLote();
+        }
+        lote[usados] = tipo;
+        lote[usados + 1] = a;
+        lote[usados + 2] = b;
+        lote[usados + 3] = c;
+        lote[usados + 4] = d;
+        usados += CAMPOS;
+    }
+    
+    /**
+     * Entrega el lote actual al escritor y toma uno libre
+     */
+    private void entregarLote() {
+        lote[0] = usados;
+        try {
+            entregar(lote);
+            long[] libre;
+            while ((libre = libres.poll(ESPERA_MS, TimeUnit.MILLISECONDS)) == null) {
+                revisarEscritor();
+            }
+            lote = libre;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Registro de eventos interrumpido", e);
+        }
+        usados = 1;
+    }
+    
+    /**
+     * Pone un lote o una marca en la cola del escritor; si está llena, espera mientras
+     * el escritor siga vivo
+     */
+    private void entregar(long[] recibido) throws InterruptedException {
+        while (!llenos.offer(recibido, ESPERA_MS, TimeUnit.MILLISECONDS)) {
+            revisarEscritor();
+        }
+    }
+    
+    /**
+     * Falla con el error del escritor si su hilo terminó, porque nadie vaciaría las colas
+     */
+    private void revisarEscritor() {
+        if (!escritor.isAlive()) {
+            throw new IllegalStateException("El hilo del registro de eventos terminó", error);
+        }
+    }
+    
+    @Override
+    public void vaciar() {
+        enviarMarca(VACIAR);
+    }
+    
+    @Override
+    public void cerrar() {
+        if (escritor.isAlive()) {
+            enviarMarca(CERRAR);
+        }
+    }
+    
+    /**
+     * Entrega lo pendiente y una marca de control, y espera a que el escritor la procese
+     */
+    private void enviarMarca(long[] marca) {
+        revisarEscritor();
+        if (usados > 1) {
+            entregarLote();
+        }
+        try {
+            entregar(marca);
+            vaciado.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Registro de eventos interrumpido", e);
+        }
+        if (error != null) {
+            throw new IllegalStateException("Error escribiendo el registro de eventos", error);
+        }
+    }
+    
+    /**
+     * Ciclo del hilo escritor
+     */
+    private void escribirLotes() {
+        StringBuilder texto = new StringBuilder(1 << 16);
+        String finLinea = System.lineSeparator();
+        try {
+            while (true) {
+                long[] recibido = llenos.take();
+                if (recibido == VACIAR || recibido == CERRAR) {
+                    salida.flush();
+                    vaciado.release();
+                    if (recibido == CERRAR) {
+                        return;
+                    }
+                    continue;
+                }
+                
+                int total = (int) recibido[0];
+                for (int i = 1; i < total; i += CAMPOS) {
+                    formatear(texto, recibido, i);
+                    texto.append(finLinea);
+                }
+                libres.put(recibido);
+                salida.print(texto);
+                texto.setLength(0);
+            }
+        } catch (Throwable t) {
+            error = t;
+            vaciado.release();
+        }
+    }
+    
+    /**
+     * Arma el texto de un evento, con los mismos mensajes que la simulación mostraba antes
+     */
+    private static void formatear(StringBuilder texto, long[] lote, int i) {
+        long a = lote[i + 1];
+        long b = lote[i + 2];
+        long c = lote[i + 3];
+        long d = lote[i + 4];
+        switch ((int) lote[i]) {
+            case FALLO:
+                texto.append("Turno ").append(a).append(": Proceso ").append(b)
+                     .append(" - Fallo de página en dirección ").append(c).append(" (página ").append(d).append(')');
+                break;
+            case ACIERTO:
+                texto.append("Turno ").append(a).append(": Proceso ").append(b)
+                     .append(" - Acierto en dirección ").append(c);
+                break;
+            case TERMINADO:
+                texto.append("Proceso ").append(b).append(" terminado. Marcos reasignados.");
+                break;
+            case REASIGNADOS:
+                texto.append("Marcos reasignados al proceso ").append(b).append(" (tenía ").append(c).append(" fallos)");
+                break;
+            case MOVIDO:
+                texto.append("Turno ").append(a).append(": marco movido del proceso ").append(b)
+                     .append(" al proceso ").append(c).append(" (PFF)");
+                break;
+            case SUSPENDIDO:
+                texto.append("Turno ").append(a).append(": proceso ").append(b).append(" suspendido (control de carga)");
+                break;
+            case REANUDADO:
+                texto.append("Turno ").append(a).append(": proceso ").append(b).append(" reanudado (control de carga)");
+                break;
+            default:
+                texto.append("No hay procesos activos, marcos marcados como libres");
+                break;
+        }
+    }
+}
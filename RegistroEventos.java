@@ -0,0 +1,55 @@
+/**
+ * Destino de los eventos que produce la simulación turno a turno
+ * Los eventos se pasan como valores primitivos; el texto solo se arma en el
+ * destino, y únicamente si el nivel lo pide
+ */
+public interface RegistroEventos {
+    
+    /**
+     * Registro que descarta todo, para simulaciones silenciosas
+     */
+    RegistroEventos NINGUNO = new RegistroEventos() {
+        @Override public boolean habilitado(NivelRegistro nivel) { return false; }
+        @Override public void fallo(long turno, int idProceso, long direccion, int pagina) { }
+        @Override public void acierto(long turno, int idProceso, long direccion) { }
+        @Override public void procesoTerminado(int idProceso) { }
+        @Override public void marcosReasignados(int idProceso, long fallos) { }
+        @Override public void marcosSinProceso() { }
+        @Override public void marcoMovido(long turno, int idOrigen, int idDestino) { }
+        @Override public void procesoSuspendido(long turno, int idProceso) { }
+        @Override public void procesoReanudado(long turno, int idProceso) { }
+        @Override public void vaciar() { }
+        @Override public void cerrar() { }
+    };
+    
+    /**
+     * Verifica si los eventos del nivel dado se registran
+     */
+    boolean habilitado(NivelRegistro nivel);
+    
+    void fallo(long turno, int idProceso, long direccion, int pagina);
+    
+    void acierto(long turno, int idProceso, long direccion);
+    
+    void procesoTerminado(int idProceso);
+    
+    void marcosReasignados(int idProceso, long fallos);
+    
+    void marcosSinProceso();
+    
+    void marcoMovido(long turno, int idOrigen, int idDestino);
+    
+    void procesoSuspendido(long turno, int idProceso);
+    
+    void procesoReanudado(long turno, int idProceso);
+    
+    /**
+     * Espera a que todos los eventos registrados hasta ahora estén escritos
+     */
+    void vaciar();
+    
+    /**
+     * Vacía el registro y libera sus recursos
+     */
+    void cerrar();
+}
@@ -0,0 +1,351 @@
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ejecución de la Opción 2 con un hilo por proceso que se pasan el turno (EJECUCION=hilos)
+ *
+ * Cada proceso recorre sus direcciones en su propio hilo, como un programa: ante
+ * un fallo pide la página al servicio de fallos y queda bloqueado hasta su próximo
+ * turno. Solo corre el hilo que tiene el turno: procesa su referencia o su fallo,
+ * saca al siguiente de la cola circular y le pasa el turno. El intercalado es
+ * entonces el de la simulación por turnos, y también los fallos, los números de
+ * turno y los mensajes, incluso con reemplazo global, porque nunca hay dos hilos
+ * tocando el gestor a la vez.
+ *
+ * Como en la simulación por eventos, un acierto procesa de una vez las direcciones
+ * seguidas cuya página ya está en memoria, hasta el próximo fallo. Esos aciertos
+ * quedan adelantados: en sus próximos turnos los descuenta quien pasa el turno, sin
+ * despertar al hilo, que solo vuelve a correr para su siguiente fallo o ráfaga. Con
+ * reemplazo global un acierto cambia el orden de la política que comparten todos,
+ * así que se procesa uno por turno y el turno pasa de hilo en hilo en cada referencia.
+ *
+ * Con Java 21 o posterior los hilos son virtuales y miles de procesos ocupan poca
+ * memoria; en versiones anteriores son hilos de plataforma con una pila chica.
+ */
+public class SimulacionHilos {
+    
+    private static final long TAMANO_PILA = 256 * 1024;
+    private static final int NADIE = -1; // Nadie tiene el turno: terminó la simulación o se abortó
+    private static final MethodHandle NUEVO_HILO_VIRTUAL = buscarHilosVirtuales(); // (Runnable) -> Thread, o null
+    
+    private final List<Proceso> procesos;
+    private final GestorMemoria gestorMemoria;
+    private final RegistroEventos registro;
+    private final MonitorSimulacion monitor;
+    private final PlanificadorRoundRobin cola;
+    private final Thread[] hilos;
+    private final boolean mostrarAciertos;
+    private final boolean mostrarTodos;
+    private final int maximoRafaga;      // Aciertos seguidos que procesa un hilo en su turno
+    private final int[] adelantados;     // Aciertos ya procesados que aún no tuvieron su turno
+    private final int[] largoRafaga;
+    private final long[][] rafagas;      // Direcciones de cada ráfaga (solo si se muestran aciertos)
+    private Thread principal;
+    private volatile int turnoDe;        // id del proceso que tiene el turno
+    private volatile boolean terminada;
+    private volatile boolean abortada;
+    private volatile Throwable error;
+    private long turno;                  // Solo lo cambia el hilo que tiene el turno
+    private long proximaPublicacion;
+    
+    /**
+     * @param monitor Monitor JMX a actualizar mientras avanzan los turnos (puede ser null)
+     * @param maximoRafaga Máximo de aciertos seguidos por turno (1 para procesar una referencia por turno)
+     */
+    public SimulacionHilos(List<Proceso> procesos, GestorMemoria gestorMemoria, RegistroEventos registro,
+                           MonitorSimulacion monitor, int maximoRafaga) {
+        this.procesos = procesos;
+        this.gestorMemoria = gestorMemoria;
+        this.registro = registro;
+        this.monitor = monitor;
+        this.cola = new PlanificadorRoundRobin(procesos);
+        this.hilos = new Thread[procesos.size()];
+        this.mostrarAciertos = registro.habilitado(NivelRegistro.FALLOS);
+        this.mostrarTodos = registro.habilitado(NivelRegistro.REFERENCIAS);
+        this.maximoRafaga = maximoRafaga;
+        this.adelantados = new int[procesos.size()];
+        this.largoRafaga = new int[procesos.size()];
+        this.rafagas = new long[procesos.size()][];
+        this.turnoDe = NADIE;
+    }
+    
+    /**
+     * Indica si los hilos de los procesos son virtuales
+     */
+    public static boolean usaHilosVirtuales() {
+        return NUEVO_HILO_VIRTUAL != null;
+    }
+    
+    /**
+     * Arranca un hilo por proceso, da el turno al primero de la cola y espera a que
+     * terminen todos
+     * @return Total de turnos, igual al de la simulación por turnos
+     */
+    public long ejecutar() throws InterruptedException {
+        principal = Thread.currentThread();
+        for (Proceso proceso : procesos) {
+            cola.agregar(proceso);
+            hilos[proceso.getId()] = crearHilo(() -> correrProceso(proceso), "proceso-" + proceso.getId());
+        }
+        try {
+            for (Thread hilo : hilos) {
+                hilo.start();
+            }
+            pasarTurno(NADIE);
+            while (!terminada && error == null) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Simulación interrumpida");
+                }
+            }
+        } finally {
+            // Despertar a los hilos que siguen esperando su turno para que terminen
+            abortada = !terminada;
+            for (Thread hilo : hilos) {
+                LockSupport.unpark(hilo);
+            }
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        
+        Throwable causa = error;
+        if (causa instanceof RuntimeException) {
+            throw (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        if (causa != null) {
+            throw new IllegalStateException(causa);
+        }
+        return turno;
+    }
+    
+    /**
+     * Cuerpo del hilo de un proceso: una ráfaga de aciertos por turno, y ante un fallo espera la página
+     */
+    private void correrProceso(Proceso proceso) {
+        int id = proceso.getId();
+        try {
+            esperarTurno(id);
+            if (proceso.haTerminado()) {
+                // Proceso sin direcciones: libera sus marcos en su primer turno
+                Set<Integer> marcosLiberados = proceso.obtenerMarcosAsignados();
+                gestorMemoria.liberarMarcos(marcosLiberados);
+                gestorMemoria.reasignarMarcos(marcosLiberados, procesos);
+                if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                    registro.procesoTerminado(id);
+                }
+                pasarTurno(id);
+                return;
+            }
+            
+            while (true) {
+                long direccionVirtual = proceso.obtenerSiguienteDireccion();
+                if (direccionVirtual == -1) {
+                    pasarTurno(id);
+                    return;
+                }
+                int paginaVirtual = proceso.obtenerPaginaActual();
+                
+                if (!proceso.paginaEnMemoria(paginaVirtual)) {
+                    if (!esperarPagina(proceso, direccionVirtual, paginaVirtual)) {
+                        return;
+                    }
+                    continue; // Con la página cargada, la referencia se repite como acierto
+                }
+                
+                if (mostrarAciertos && rafagas[id] == null) {
+                    rafagas[id] = new long[maximoRafaga];
+                }
+                int aciertos = proceso.avanzarAciertos(maximoRafaga, gestorMemoria, rafagas[id]);
+                largoRafaga[id] = aciertos;
+                adelantados[id] = aciertos - 1;
+                if (mostrarTodos || (turno % 100 == 0 && mostrarAciertos)) {
+                    registro.acierto(turno, id, direccionVirtual);
+                }
+                if (proceso.haTerminado()) {
+                    // Los aciertos adelantados que queden se descuentan en pasarTurno
+                    if (adelantados[id] > 0) {
+                        cola.agregar(proceso);
+                    } else {
+                        registrarProcesoTerminado(proceso);
+                    }
+                    turno++;
+                    pasarTurno(id);
+                    return;
+                }
+                turno++;
+                cederTurno(proceso);
+            }
+        } catch (Abortada e) {
+            // Otro hilo falló o se interrumpió la simulación
+        } catch (Throwable e) {
+            error = e;
+            turnoDe = NADIE;
+            LockSupport.unpark(principal);
+        }
+    }
+    
+    /**
+     * Servicio de fallos: carga la página, usa el turno del fallo y bloquea al
+     * proceso hasta su próximo turno
+     * @return false si no se pudo cargar la página y el proceso sale de la cola
+     */
+    private boolean esperarPagina(Proceso proceso, long direccionVirtual, int paginaVirtual) {
+        int id = proceso.getId();
+        EventosJFR.FalloPagina evento = new EventosJFR.FalloPagina();
+        evento.begin();
+        int marcoAsignado = proceso.atenderFallo(paginaVirtual, gestorMemoria);
+        if (marcoAsignado == -1) {
+            // No se pudo cargar la página (no debería pasar)
+            System.err.println("Error: No se pudo cargar página " + paginaVirtual +
+                " para proceso " + id);
+            turno++;
+            pasarTurno(id);
+            return false;
+        }
+        
+        if (evento.shouldCommit()) {
+            evento.proceso = id;
+            evento.turno = turno;
+            evento.pagina = paginaVirtual;
+            evento.marco = marcoAsignado;
+            evento.paginaDesalojada = gestorMemoria.getPaginaDesalojada();
+            evento.paginaDesalojadaModificada = gestorMemoria.esPaginaDesalojadaModificada();
+            evento.commit();
+        }
+        if (mostrarAciertos) {
+            registro.fallo(turno, id, direccionVirtual, paginaVirtual);
+        }
+        turno++;
+        cederTurno(proceso);
+        return true;
+    }
+    
+    /**
+     * Vuelve al final de la cola, pasa el turno y espera el próximo
+     */
+    private void cederTurno(Proceso proceso) {
+        cola.agregar(proceso);
+        pasarTurno(proceso.getId());
+        esperarTurno(proceso.getId());
+    }
+    
+    /**
+     * Da el turno al siguiente proceso de la cola, o avisa al hilo principal si la cola quedó vacía
+     * Los turnos de aciertos adelantados se descuentan aquí, sin despertar a su hilo
+     * @param actual Proceso que tenía el turno, o NADIE al empezar
+     */
+    private void pasarTurno(int actual) {
+        while (true) {
+            if (monitor != null && turno >= proximaPublicacion) {
+                monitor.publicar(procesos, turno);
+                proximaPublicacion = turno + MonitorSimulacion.TURNOS_ENTRE_PUBLICACIONES;
+            }
+            Proceso siguiente = cola.siguiente();
+            if (siguiente == null) {
+                terminada = true;
+                turnoDe = NADIE;
+                LockSupport.unpark(principal);
+                return;
+            }
+            int id = siguiente.getId();
+            if (adelantados[id] > 0) {
+                // Acierto ya procesado en una ráfaga anterior
+                if (mostrarTodos || (turno % 100 == 0 && mostrarAciertos)) {
+                    registro.acierto(turno, id, rafagas[id][largoRafaga[id] - adelantados[id]]);
+                }
+                adelantados[id]--;
+                if (adelantados[id] > 0 || !siguiente.haTerminado()) {
+                    cola.agregar(siguiente);
+                } else {
+                    registrarProcesoTerminado(siguiente);
+                }
+                turno++;
+                continue;
+            }
+            if (id != actual) {
+                turnoDe = id;
+                LockSupport.unpark(hilos[id]);
+            }
+            return;
+        }
+    }
+    
+    /**
+     * Bloquea el hilo del proceso hasta que tenga el turno
+     */
+    private void esperarTurno(int id) {
+        while (true) {
+            if (abortada) {
+                throw new Abortada();
+            }
+            if (turnoDe == id) {
+                return;
+            }
+            LockSupport.park(this);
+        }
+    }
+    
+    /**
+     * Registra en JFR que un proceso procesó su última dirección en el turno actual
+     */
+    private void registrarProcesoTerminado(Proceso proceso) {
+        EventosJFR.ProcesoTerminado evento = new EventosJFR.ProcesoTerminado();
+        if (evento.shouldCommit()) {
+            evento.proceso = proceso.getId();
+            evento.turno = turno;
+            evento.referencias = proceso.getTotalReferencias();
+            evento.fallos = proceso.getTotalFallosPagina();
+            evento.accesosSWAP = proceso.getTotalAccesosSWAP();
+            evento.lecturasSWAP = proceso.getTotalLecturasSWAP();
+            evento.escriturasSWAP = proceso.getTotalEscriturasSWAP();
+            evento.commit();
+        }
+    }
+    
+    /**
+     * Crea el hilo de un proceso: virtual si el runtime los tiene, si no de plataforma con pila chica
+     */
+    private static Thread crearHilo(Runnable tarea, String nombre) {
+        if (NUEVO_HILO_VIRTUAL != null) {
+            try {
+                return (Thread) NUEVO_HILO_VIRTUAL.invokeExact(tarea);
+            } catch (Throwable e) {
+                throw new IllegalStateException("No se pudo crear el hilo de " + nombre, e);
+            }
+        }
+        Thread hilo = new Thread(null, tarea, nombre, TAMANO_PILA);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+    
+    /**
+     * Busca Thread.ofVirtual().unstarted(Runnable), que existe desde Java 21
+     */
+    private static MethodHandle buscarHilosVirtuales() {
+        try {
+            Object constructor = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method sinIniciar = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            return MethodHandles.publicLookup().unreflect(sinIniciar).bindTo(constructor)
+                .asType(MethodType.methodType(Thread.class, Runnable.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // Sin hilos virtuales, o solo como vista previa no habilitada
+        }
+    }
+    
+    /**
+     * Corta el hilo de un proceso que esperaba su turno cuando se aborta la simulación
+     */
+    private static class Abortada extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        Abortada() {
+            super(null, null, false, false);
+        }
+    }
+}
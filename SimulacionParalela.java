@@ -0,0 +1,419 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Ejecución de la Opción 2 con un hilo por proceso (EJECUCION=paralela)
+ * 
+ * Con el reparto equitativo cada proceso tiene sus propios marcos, y un proceso
+ * que termina sale de la cola sin volver a ella, de modo que el ciclo por turnos
+ * nunca llega a liberar ni reasignar marcos: los procesos no interactúan. Cada
+ * proceso se simula entonces completo en su hilo, sobre una partición del gestor
+ * que tiene solo sus marcos, y sus fallos no dependen del intercalado.
+ * 
+ * Los turnos globales se calculan después: la cola atiende a los procesos vivos
+ * siempre en orden de id, así que el turno k (desde 0) de un proceso es la suma
+ * de min(k, T) sobre todos los procesos, donde T es el total de turnos de cada
+ * uno, más la cantidad de procesos de id menor que siguen vivos en la ronda k.
+ * Si se piden mensajes por turno o eventos de fallo en JFR, cada hilo guarda en
+ * un archivo temporal el turno local y los datos de cada fallo; al final se mezclan
+ * en orden de turno global, de a un turno por proceso, con los aciertos que se
+ * muestran, cuyas direcciones se vuelven a leer. La memoria no crece con las trazas.
+ */
+public class SimulacionParalela {
+    
+    /**
+     * Abre de nuevo las direcciones de un proceso
+     */
+    public interface AbridorFuentes {
+        FuenteDirecciones abrir(int numeroProceso) throws IOException;
+    }
+    
+    private static final int TAMANO_BUFFER = 1 << 16;
+    
+    private final List<Proceso> procesos;
+    private final GestorMemoria gestorMemoria;
+    private final RegistroEventos registro;
+    private final AbridorFuentes abridor;
+    private final MonitorSimulacion monitor;
+    private long[] turnosPorProceso;
+    private AvanceProceso[] avances; // Copias de los contadores que hace cada hilo, para el monitor (null si no hay)
+    
+    /**
+     * @param monitor Monitor JMX a actualizar mientras se espera a los hilos (puede ser null)
+     */
+    public SimulacionParalela(List<Proceso> procesos, GestorMemoria gestorMemoria, RegistroEventos registro,
+                              AbridorFuentes abridor, MonitorSimulacion monitor) {
+        this.procesos = procesos;
+        this.gestorMemoria = gestorMemoria;
+        this.registro = registro;
+        this.abridor = abridor;
+        this.monitor = monitor;
+    }
+    
+    /**
+     * Indica si los procesos se pueden simular por separado: un proceso sin direcciones
+     * libera sus marcos en su primer turno y se reasignan al que tenga más fallos
+     */
+    public static boolean admite(List<Proceso> procesos) {
+        for (Proceso proceso : procesos) {
+            if (proceso.haTerminado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Simula todos los procesos con hasta la cantidad de hilos dada
+     * @return Total de turnos, igual al de la simulación por turnos
+     */
+    public long ejecutar(int hilos) throws IOException {
+        int n = procesos.size();
+        turnosPorProceso = new long[n];
+        avances = monitor != null ? new AvanceProceso[n] : null;
+        boolean mostrar = registro.habilitado(NivelRegistro.FALLOS);
+        boolean eventosFallo = new EventosJFR.FalloPagina().isEnabled();
+        File[] archivosFallos = mostrar || eventosFallo ? new File[n] : null;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(hilos, n)));
+        try {
+            // Simular cada proceso completo en su partición, guardando sus fallos si hay que mostrarlos
+            List<Future<Long>> resultados = new ArrayList<>();
+            for (Proceso proceso : procesos) {
+                GestorMemoria particion = gestorMemoria.crearParticion(proceso.getId());
+                File archivo = null;
+                if (archivosFallos != null) {
+                    archivo = File.createTempFile("caso2-fallos-" + proceso.getId() + "-", ".bin");
+                    archivosFallos[proceso.getId()] = archivo;
+                }
+                File fallos = archivo;
+                AvanceProceso avance = avances != null ? new AvanceProceso() : null;
+                if (avance != null) {
+                    avances[proceso.getId()] = avance;
+                }
+                resultados.add(ejecutor.submit(() -> simularProceso(proceso, particion, fallos, avance)));
+            }
+            for (int i = 0; i < n; i++) {
+                turnosPorProceso[i] = esperar(resultados.get(i));
+            }
+            
+            // Registrar en JFR cuándo terminó cada proceso
+            for (int i = 0; i < n; i++) {
+                if (turnosPorProceso[i] > 0) {
+                    TurnosGlobales turnos = new TurnosGlobales(turnosPorProceso, i);
+                    EventosJFR.ProcesoTerminado evento = new EventosJFR.ProcesoTerminado();
+                    if (evento.shouldCommit()) {
+                        Proceso proceso = procesos.get(i);
+                        evento.proceso = proceso.getId();
+                        evento.turno = turnos.global(turnosPorProceso[i] - 1);
+                        evento.referencias = proceso.getTotalReferencias();
+                        evento.fallos = proceso.getTotalFallosPagina();
+                        evento.accesosSWAP = proceso.getTotalAccesosSWAP();
+                        evento.lecturasSWAP = proceso.getTotalLecturasSWAP();
+                        evento.escriturasSWAP = proceso.getTotalEscriturasSWAP();
+                        evento.commit();
+                    }
+                }
+            }
+            
+            if (archivosFallos != null) {
+                registrarTurnos(archivosFallos, mostrar);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+            if (archivosFallos != null) {
+                for (File archivo : archivosFallos) {
+                    if (archivo != null) {
+                        archivo.delete();
+                    }
+                }
+            }
+        }
+        
+        long total = 0;
+        for (long turnos : turnosPorProceso) {
+            total += turnos;
+        }
+        return total;
+    }
+    
+    /**
+     * Mezcla en orden de turno los fallos guardados de todos los procesos y, si se
+     * muestran, sus aciertos, y los registra; los eventos FalloPagina de JFR se emiten
+     * aquí, ya con su turno global
+     */
+    private void registrarTurnos(File[] archivosFallos, boolean mostrar) throws IOException {
+        boolean todos = registro.habilitado(NivelRegistro.REFERENCIAS);
+        List<TurnosProceso> lectores = new ArrayList<>();
+        PriorityQueue<TurnosProceso> siguientes = new PriorityQueue<>(
+            Comparator.comparingLong((TurnosProceso lector) -> lector.turno));
+        try {
+            for (Proceso proceso : procesos) {
+                int id = proceso.getId();
+                TurnosProceso lector = new TurnosProceso(id, archivosFallos[id], proceso.getTotalFallosPagina(),
+                    mostrar ? abridor.abrir(id) : null, new TurnosGlobales(turnosPorProceso, id), turnosPorProceso[id], todos);
+                lectores.add(lector);
+                if (lector.avanzar()) {
+                    siguientes.add(lector);
+                }
+            }
+            
+            // Cada proceso ya está en orden de turno y no hay dos procesos en el mismo turno
+            while (!siguientes.isEmpty()) {
+                TurnosProceso lector = siguientes.poll();
+                int id = lector.id;
+                if (lector.esFallo) {
+                    EventosJFR.FalloPagina evento = new EventosJFR.FalloPagina();
+                    if (evento.shouldCommit()) {
+                        evento.proceso = id;
+                        evento.turno = lector.turno;
+                        evento.pagina = lector.pagina;
+                        evento.marco = lector.marco;
+                        evento.paginaDesalojada = lector.paginaDesalojada;
+                        evento.paginaDesalojadaModificada = lector.desalojadaModificada;
+                        evento.commit();
+                    }
+                    if (mostrar) {
+                        registro.fallo(lector.turno, id, lector.direccion, lector.pagina);
+                    }
+                } else {
+                    registro.acierto(lector.turno, id, lector.direccion);
+                }
+                if (lector.avanzar()) {
+                    siguientes.add(lector);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (TurnosProceso lector : lectores) {
+                lector.cerrar();
+            }
+        }
+    }
+    
+    /**
+     * Simula todas las referencias de un proceso sin intercalarlo con los demás
+     * @param archivoFallos Donde guardar el turno local y los datos de cada fallo, o null
+     * @param avance Donde copiar los contadores del proceso para el monitor, o null
+     * @return Cantidad de turnos que usó el proceso (referencias más fallos)
+     */
+    private long simularProceso(Proceso proceso, GestorMemoria particion, File archivoFallos,
+                                AvanceProceso avance) throws IOException {
+        DataOutputStream fallos = archivoFallos == null ? null
+            : new DataOutputStream(new BufferedOutputStream(new FileOutputStream(archivoFallos), TAMANO_BUFFER));
+        try {
+            long turno = 0;
+            long proximaPublicacion = 0;
+            while (!proceso.haTerminado()) {
+                long direccionVirtual = proceso.obtenerSiguienteDireccion();
+                int paginaVirtual = proceso.obtenerPaginaActual();
+                
+                if (!proceso.paginaEnMemoria(paginaVirtual)) {
+                    int marcoAsignado = proceso.atenderFallo(paginaVirtual, particion);
+                    if (marcoAsignado == -1) {
+                        throw new IllegalStateException("No se pudo cargar página " + paginaVirtual +
+                            " para proceso " + proceso.getId());
+                    }
+                    if (fallos != null) {
+                        fallos.writeLong(turno);
+                        fallos.writeLong(direccionVirtual);
+                        fallos.writeInt(paginaVirtual);
+                        fallos.writeInt(marcoAsignado);
+                        fallos.writeInt(particion.getPaginaDesalojada());
+                        fallos.writeBoolean(particion.esPaginaDesalojadaModificada());
+                    }
+                    turno++;
+                }
+                
+                turno += proceso.avanzarAciertos(Integer.MAX_VALUE, particion, null);
+                if (avance != null && turno >= proximaPublicacion) {
+                    avance.copiar(proceso);
+                    proximaPublicacion = turno + MonitorSimulacion.TURNOS_ENTRE_PUBLICACIONES;
+                }
+            }
+            if (avance != null) {
+                avance.copiar(proceso);
+            }
+            return turno;
+        } finally {
+            if (fallos != null) {
+                fallos.close();
+            }
+        }
+    }
+    
+    /**
+     * Espera el resultado de un hilo, publicando el avance por JMX mientras tanto
+     */
+    private <T> T esperar(Future<T> resultado) throws IOException {
+        try {
+            while (true) {
+                try {
+                    return resultado.get(1, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    if (monitor != null) {
+                        publicarAvance();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Simulación interrumpida");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) causa).getCause();
+            }
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IOException(causa);
+        }
+    }
+    
+    /**
+     * Publica en el monitor las últimas copias de los contadores que hicieron los hilos;
+     * los contadores de los procesos no se leen porque los siguen cambiando
+     */
+    private void publicarAvance() {
+        long referencias = 0;
+        long fallos = 0;
+        int[] residentes = new int[avances.length];
+        for (int i = 0; i < avances.length; i++) {
+            referencias += avances[i].referencias;
+            fallos += avances[i].fallos;
+            residentes[i] = avances[i].residentes;
+        }
+        monitor.publicar(referencias, fallos, residentes, referencias + fallos);
+    }
+    
+    /**
+     * Contadores de un proceso que su hilo copia de tanto en tanto para el monitor
+     */
+    private static class AvanceProceso {
+        volatile long referencias;
+        volatile long fallos;
+        volatile int residentes;
+        
+        void copiar(Proceso proceso) {
+            referencias = proceso.getTotalReferencias();
+            fallos = proceso.getTotalFallosPagina();
+            residentes = proceso.getPaginasResidentes();
+        }
+    }
+    
+    /**
+     * Turno global de cada turno local de un proceso; se consulta con k no decreciente
+     */
+    private static class TurnosGlobales {
+        private final long[] todos;     // Totales de turnos de todos los procesos, ordenados
+        private final long[] anteriores; // Totales de los procesos de id menor, ordenados
+        private int terminados;        // Procesos con total <= k
+        private long sumaTerminados;   // Suma de sus totales
+        private int anterioresTerminados;
+        
+        TurnosGlobales(long[] turnosPorProceso, int id) {
+            this.todos = turnosPorProceso.clone();
+            this.anteriores = Arrays.copyOf(turnosPorProceso, id);
+            Arrays.sort(todos);
+            Arrays.sort(anteriores);
+        }
+        
+        long global(long k) {
+            while (terminados < todos.length && todos[terminados] <= k) {
+                sumaTerminados += todos[terminados++];
+            }
+            while (anterioresTerminados < anteriores.length && anteriores[anterioresTerminados] <= k) {
+                anterioresTerminados++;
+            }
+            return sumaTerminados + k * (todos.length - terminados) + (anteriores.length - anterioresTerminados);
+        }
+    }
+    
+    /**
+     * Turnos de un proceso que se muestran, en orden: los fallos salen del archivo
+     * guardado al simularlo y los aciertos de sus direcciones, leídas de nuevo
+     */
+    private static class TurnosProceso {
+        final int id;
+        private final DataInputStream fallos;
+        private final FuenteDirecciones fuente; // null si no se muestran aciertos
+        private final TurnosGlobales turnos;
+        private final long total;
+        private final boolean todos;
+        private long fallosRestantes;
+        private long local;         // Próximo turno local a revisar
+        private long proximoFallo;  // Turno local del próximo fallo (Long.MAX_VALUE si no quedan)
+        
+        // Turno actual
+        long turno;
+        boolean esFallo;
+        long direccion;
+        int pagina;
+        int marco;
+        int paginaDesalojada;
+        boolean desalojadaModificada;
+        
+        TurnosProceso(int id, File archivoFallos, long cantidadFallos, FuenteDirecciones fuente, TurnosGlobales turnos,
+                      long total, boolean todos) throws IOException {
+            this.id = id;
+            this.fallos = new DataInputStream(new BufferedInputStream(new FileInputStream(archivoFallos), TAMANO_BUFFER));
+            this.fuente = fuente;
+            this.turnos = turnos;
+            this.total = total;
+            this.todos = todos;
+            this.fallosRestantes = cantidadFallos;
+            this.proximoFallo = fallosRestantes > 0 ? fallos.readLong() : Long.MAX_VALUE;
+        }
+        
+        /**
+         * Pasa al siguiente turno que se muestra
+         * @return false si no quedan
+         */
+        boolean avanzar() throws IOException {
+            while (local < total) {
+                if (local == proximoFallo) {
+                    turno = turnos.global(local++);
+                    esFallo = true;
+                    direccion = fallos.readLong();
+                    pagina = fallos.readInt();
+                    marco = fallos.readInt();
+                    paginaDesalojada = fallos.readInt();
+                    desalojadaModificada = fallos.readBoolean();
+                    proximoFallo = --fallosRestantes > 0 ? fallos.readLong() : Long.MAX_VALUE;
+                    return true;
+                }
+                if (fuente == null) {
+                    local = Math.min(proximoFallo, total); // Los aciertos no se muestran
+                    continue;
+                }
+                
+                // Acierto: la dirección actual (un fallo no la consume, se repite en el turno siguiente)
+                long global = turnos.global(local++);
+                long direccionAcierto = fuente.actual();
+                fuente.avanzar();
+                if (todos || global % 100 == 0) {
+                    turno = global;
+                    esFallo = false;
+                    direccion = direccionAcierto;
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        void cerrar() throws IOException {
+            fallos.close();
+            if (fuente != null) {
+                fuente.cerrar();
+            }
+        }
+    }
+}
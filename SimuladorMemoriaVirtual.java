@@ -1,5 +1,6 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Simulador de Memoria Virtual
@@ -11,6 +12,7 @@ import java.util.*;
  * 
  * Opción 1: Generación de referencias
  * Opción 2: Simulación de la ejecución
+ * Opción 3: Barrido de parámetros (varias simulaciones de la Opción 2 en paralelo)
  */
 public class SimuladorMemoriaVirtual {
     
@@ -18,22 +20,69 @@ public class SimuladorMemoriaVirtual {
     private static final int TAMANO_ENTERO = 4; // bytes
     private static final String ARCHIVO_CONFIG = "config.txt";
     private static final String ARCHIVO_CONFIG_OPCION2 = "config_opcion2.txt";
+    private static final String ARCHIVO_CONFIG_BARRIDO = "config_barrido.txt";
+    private static final String ARCHIVO_RESULTADOS_BARRIDO = "resultados_barrido.csv";
+    private static final String FORMATO_TEXTO = "texto";
+    private static final String FORMATO_BINARIO = "binario";
+    private static final String FUENTE_ARCHIVO = "archivo";
+    private static final String FUENTE_GENERADOR = "generador";
+    private static final String POLITICA_POR_DEFECTO = "lru";
+    private static final String PREBUSQUEDA_POR_DEFECTO = "ninguna";
+    private static final int VENTANA_POR_DEFECTO = 4; // Páginas prebuscadas por fallo
+    private static final String REEMPLAZO_LOCAL = "local";
+    private static final String REEMPLAZO_GLOBAL = "global";
+    private static final String ASIGNACION_EQUITATIVA = "equitativa";
+    private static final String ASIGNACION_PFF = "pff";
+    private static final long INTERVALO_POR_DEFECTO = 1000; // Turnos entre reequilibrios PFF
+    private static final double PFF_ALTO_POR_DEFECTO = 0.05; // Tasa de fallos sobre la cual un proceso recibe marcos
+    private static final double PFF_BAJO_POR_DEFECTO = 0.02; // Tasa de fallos bajo la cual un proceso cede marcos
+    private static final double CARGA_ALTA_POR_DEFECTO = 0.2; // Tasa de fallos conjunta sobre la cual se suspende un proceso
+    private static final double CARGA_BAJA_POR_DEFECTO = 0.1; // Tasa de fallos conjunta bajo la cual se reanuda uno
+    private static final String PLANIFICADOR_POR_DEFECTO = "rr";
+    private static final int QUANTUM_POR_DEFECTO = 1; // Referencias seguidas de un proceso por turno de la cola
+    private static final String EJECUCION_EVENTOS = "eventos";
+    private static final String EJECUCION_TURNOS = "turnos";
+    private static final String EJECUCION_PARALELA = "paralela";
+    private static final String EJECUCION_HILOS = "hilos";
+    private static final long LATENCIA_POR_DEFECTO = 1000; // Turnos fijos de un lote de SWAP
+    private static final long TRANSFERENCIA_POR_DEFECTO = 10; // Turnos por página transferida
+    private static final int LOTE_POR_DEFECTO = 16;       // Páginas por lote de SWAP
+    private static final int MAXIMO_RAFAGA_REGISTRADA = 4096; // Aciertos adelantados cuyas direcciones se guardan para mostrarlas
     
     // Variables de configuración
     private int tamanoPagina;      // TP
     private int numeroProcesos;    // NPROC
     private int[] tamanosMatrices; // TAMS
+    private Map<String, String> opciones; // Líneas CLAVE=valor opcionales al final de la configuración
     
     // Variables para Opción 2
     private int totalMarcosRAM;    // Total de marcos en RAM
     private List<Proceso> procesos;
     private GestorMemoria gestorMemoria;
+    private long turnosSimulados;
+    private FallosOPT[] fallosOPT;  // Fallos con reemplazo óptimo por proceso (null si no se pidieron, OPT=si)
+    private MonitorSimulacion monitor; // Contadores publicados por JMX (null si no se pidieron, MONITOR=si)
+    private String ejecucion;      // Modo de ejecución de la Opción 2 (EJECUCION=eventos|turnos|paralela|hilos)
+    private String prebusqueda = PREBUSQUEDA_POR_DEFECTO; // Política de prebúsqueda de cada proceso (PREBUSQUEDA=...)
+    private int ventanaPrebusqueda = VENTANA_POR_DEFECTO; // Máximo de páginas prebuscadas por fallo (VENTANA=n)
+    private boolean reemplazoGlobal; // Los procesos comparten todos los marcos (REEMPLAZO=global)
+    private String asignacion = ASIGNACION_EQUITATIVA; // Reparto de marcos entre procesos (ASIGNACION=equitativa|pff)
+    private AsignadorPFF asignador; // Reequilibra los marcos según los fallos recientes (null si ASIGNACION=equitativa)
+    private ControlCarga controlCarga; // Suspende procesos si hay hiperpaginación (null si no se pidió, CONTROL_CARGA=si)
+    private String planificador = PLANIFICADOR_POR_DEFECTO; // Orden de la cola de procesos (PLANIFICADOR=rr|restantes|fallos)
+    private int quantum = QUANTUM_POR_DEFECTO; // Referencias seguidas de un proceso antes de volver a la cola (QUANTUM=n)
+    private RegistroEventos registro; // Destino de los mensajes de cada turno y de cada proceso
+    private DispositivoSWAP dispositivo; // Latencia y cola de SWAP (null si no se modela, DISPOSITIVO=si)
+    private long tiempoSimulado;   // Reloj al terminar la simulación con dispositivo
     
     /**
      * Constructor principal
      */
     public SimuladorMemoriaVirtual() {
         this.tamanosMatrices = new int[0];
+        this.opciones = new HashMap<>();
+        this.registro = RegistroEventos.NINGUNO;
+        this.ejecucion = EJECUCION_EVENTOS;
     }
     
     /**
@@ -47,7 +96,8 @@ public class SimuladorMemoriaVirtual {
             System.out.println("Seleccione una opción:");
             System.out.println("1. Generación de referencias (Opción 1)");
             System.out.println("2. Simulación de ejecución (Opción 2)");
-            System.out.print("Ingrese su opción (1 o 2): ");
+            System.out.println("3. Barrido de parámetros (Opción 3)");
+            System.out.print("Ingrese su opción (1, 2 o 3): ");
             
             Scanner scanner = new Scanner(System.in);
             int opcion = scanner.nextInt();
@@ -56,8 +106,10 @@ public class SimuladorMemoriaVirtual {
                 simulador.ejecutarOpcion1();
             } else if (opcion == 2) {
                 simulador.ejecutarOpcion2();
+            } else if (opcion == 3) {
+                simulador.ejecutarOpcion3();
             } else {
-                System.err.println("Opción inválida. Debe ser 1 o 2.");
+                System.err.println("Opción inválida. Debe ser 1, 2 o 3.");
                 return;
             }
             
@@ -96,18 +148,98 @@ public class SimuladorMemoriaVirtual {
         
         // Leer configuración para Opción 2
         leerConfiguracionOpcion2();
+        boolean generarAlVuelo = FUENTE_GENERADOR.equals(obtenerFuente());
+        if (generarAlVuelo) {
+            leerTamanosMatricesOpcion1();
+        }
+        prebusqueda = opciones.getOrDefault("PREBUSQUEDA", PREBUSQUEDA_POR_DEFECTO);
+        ventanaPrebusqueda = obtenerVentanaPrebusqueda();
+        PoliticaPrebusqueda.crear(prebusqueda, ventanaPrebusqueda); // Validar antes de cargar los procesos
+        reemplazoGlobal = REEMPLAZO_GLOBAL.equals(obtenerReemplazo(opciones.getOrDefault("REEMPLAZO", REEMPLAZO_LOCAL)));
+        asignacion = obtenerAsignacion(opciones.getOrDefault("ASIGNACION", ASIGNACION_EQUITATIVA));
+        if (ASIGNACION_PFF.equals(asignacion) && (reemplazoGlobal || "si".equals(opciones.get("DISPOSITIVO")))) {
+            throw new IllegalArgumentException("Error: ASIGNACION=pff no se puede usar con REEMPLAZO=global ni con DISPOSITIVO=si");
+        }
+        boolean conControlCarga = "si".equals(opciones.get("CONTROL_CARGA"));
+        if (conControlCarga && (reemplazoGlobal || ASIGNACION_PFF.equals(asignacion) || "si".equals(opciones.get("DISPOSITIVO")))) {
+            throw new IllegalArgumentException("Error: CONTROL_CARGA=si no se puede usar con REEMPLAZO=global, ASIGNACION=pff ni DISPOSITIVO=si");
+        }
+        planificador = Planificador.crear(opciones.getOrDefault("PLANIFICADOR", PLANIFICADOR_POR_DEFECTO), Collections.emptyList()).getNombre(); // Validar el nombre
+        quantum = obtenerQuantum();
+        if (!planificacionPorDefecto() && "si".equals(opciones.get("DISPOSITIVO"))) {
+            throw new IllegalArgumentException("Error: PLANIFICADOR y QUANTUM no se pueden usar con DISPOSITIVO=si");
+        }
         
         // Mostrar configuración leída
         mostrarConfiguracionOpcion2();
         
-        // Inicializar gestor de memoria
-        gestorMemoria = new GestorMemoria(tamanoPagina, totalMarcosRAM);
+        // Inicializar gestor de memoria y registro de eventos
+        gestorMemoria = new GestorMemoria(tamanoPagina, totalMarcosRAM,
+            PoliticaReemplazo.crear(opciones.getOrDefault("POLITICA", POLITICA_POR_DEFECTO), totalMarcosRAM));
+        NivelRegistro nivel = obtenerNivelRegistro();
+        registro = nivel == NivelRegistro.NINGUNO ? RegistroEventos.NINGUNO : new RegistroAsincrono(System.out, nivel);
+        gestorMemoria.setRegistro(registro);
+        ejecucion = obtenerEjecucion();
+        if ("si".equals(opciones.get("DISPOSITIVO"))) {
+            dispositivo = new DispositivoSWAP(leerOpcionEntera("LATENCIA_LECTURA", LATENCIA_POR_DEFECTO),
+                                              leerOpcionEntera("LATENCIA_ESCRITURA", LATENCIA_POR_DEFECTO),
+                                              leerOpcionEntera("TRANSFERENCIA", TRANSFERENCIA_POR_DEFECTO),
+                                              (int) leerOpcionEntera("LOTE", LOTE_POR_DEFECTO));
+        }
         
-        // Cargar procesos desde archivos generados por Opción 1
-        cargarProcesos();
+        try {
+            // Cargar procesos desde archivos generados por Opción 1, o generar sus referencias al vuelo
+            cargarProcesos(generarAlVuelo);
+            if (ASIGNACION_PFF.equals(asignacion)) {
+                asignador = new AsignadorPFF(gestorMemoria, procesos, leerOpcionEntera("INTERVALO", INTERVALO_POR_DEFECTO),
+                                             leerOpcionDecimal("PFF_ALTO", PFF_ALTO_POR_DEFECTO),
+                                             leerOpcionDecimal("PFF_BAJO", PFF_BAJO_POR_DEFECTO));
+                asignador.setRegistro(registro);
+            }
+            if (conControlCarga) {
+                controlCarga = new ControlCarga(gestorMemoria, procesos, leerOpcionEntera("INTERVALO", INTERVALO_POR_DEFECTO),
+                                                leerOpcionDecimal("CARGA_ALTA", CARGA_ALTA_POR_DEFECTO),
+                                                leerOpcionDecimal("CARGA_BAJA", CARGA_BAJA_POR_DEFECTO));
+                controlCarga.setRegistro(registro);
+            }
+            
+            // Publicar el avance por JMX si se pidió
+            if ("si".equals(opciones.get("MONITOR"))) {
+                long referenciasTotales = 0;
+                for (Proceso proceso : procesos) {
+                    referenciasTotales += proceso.getNumeroReferencias();
+                }
+                monitor = new MonitorSimulacion(referenciasTotales, procesos.size());
+                monitor.iniciar();
+            }
+            
+            // Ejecutar simulación; con dispositivo los procesos comparten la cola de SWAP, y con
+            // reemplazo global, PFF o control de carga los marcos, así que no se pueden simular en hilos
+            // separados; el modo paralelo además calcula los turnos con la rotación de a una referencia.
+            // Con hilos que se pasan el turno solo corre uno a la vez, así que se admite el reemplazo global
+            if (dispositivo != null) {
+                simularEjecucionConDispositivo();
+            } else if (EJECUCION_PARALELA.equals(ejecucion) && !reemplazoGlobal && asignador == null && controlCarga == null
+                       && planificacionPorDefecto()
+                       && SimulacionParalela.admite(procesos)) {
+                simularEjecucionParalela(generarAlVuelo);
+            } else if (EJECUCION_HILOS.equals(ejecucion) && asignador == null && controlCarga == null
+                       && planificacionPorDefecto()) {
+                simularEjecucionHilos();
+            } else {
+                simularEjecucion();
+            }
+        } finally {
+            registro.cerrar();
+            if (monitor != null) {
+                monitor.detener();
+            }
+        }
         
-        // Ejecutar simulación
-        simularEjecucion();
+        // Comparar con el reemplazo óptimo si se pidió
+        if ("si".equals(opciones.get("OPT"))) {
+            calcularFallosOPT(generarAlVuelo);
+        }
         
         // Mostrar estadísticas finales
         mostrarEstadisticasFinales();
@@ -115,6 +247,256 @@ public class SimuladorMemoriaVirtual {
         System.out.println("\n=== SIMULACIÓN COMPLETADA ===");
     }
     
+    /**
+     * Ejecuta la Opción 3: barrido de parámetros
+     * Simula en esta misma JVM cada combinación de TP, NPROC, marcos y tamaños de
+     * matrices de config_barrido.txt, generando las referencias al vuelo, y escribe
+     * un resultado por combinación en un CSV
+     */
+    private void ejecutarOpcion3() throws IOException {
+        System.out.println("\n=== OPCIÓN 3: BARRIDO DE PARÁMETROS ===");
+        
+        // Leer la grilla de parámetros
+        File archivo = new File(ARCHIVO_CONFIG_BARRIDO);
+        if (!archivo.exists()) {
+            throw new FileNotFoundException("No se encontró el archivo de configuración: " + ARCHIVO_CONFIG_BARRIDO);
+        }
+        Scanner scanner = new Scanner(archivo);
+        try {
+            leerOpciones(scanner);
+        } finally {
+            scanner.close();
+        }
+        
+        int[] tamanosPagina = leerListaBarrido("TP");
+        int[] numerosProcesos = leerListaBarrido("NPROC");
+        int[] marcos = leerListaBarrido("MARCOS");
+        String[] tamanos = opciones.getOrDefault("TAMS", "").split(",");
+        String[] politicas = opciones.getOrDefault("POLITICA", POLITICA_POR_DEFECTO).split(",");
+        String[] reemplazos = opciones.getOrDefault("REEMPLAZO", REEMPLAZO_LOCAL).split(",");
+        String[] asignaciones = opciones.getOrDefault("ASIGNACION", ASIGNACION_EQUITATIVA).split(",");
+        String[] controles = opciones.getOrDefault("CONTROL_CARGA", "no").split(",");
+        String[] planificadores = opciones.getOrDefault("PLANIFICADOR", PLANIFICADOR_POR_DEFECTO).split(",");
+        int[] quantums = opciones.containsKey("QUANTUM") ? leerListaBarrido("QUANTUM") : new int[] {QUANTUM_POR_DEFECTO};
+        String[] prebusquedas = opciones.getOrDefault("PREBUSQUEDA", PREBUSQUEDA_POR_DEFECTO).split(",");
+        int[] ventanas = opciones.containsKey("VENTANA") ? leerListaBarrido("VENTANA") : new int[] {VENTANA_POR_DEFECTO};
+        String salida = opciones.getOrDefault("SALIDA", ARCHIVO_RESULTADOS_BARRIDO);
+        int hilos = opciones.containsKey("HILOS") ? leerListaBarrido("HILOS")[0] : Runtime.getRuntime().availableProcessors();
+        
+        // Validar los nombres antes de simular
+        for (String politica : politicas) {
+            PoliticaReemplazo.crear(politica.trim(), 1);
+        }
+        String[] nombresPlanificadores = new String[planificadores.length];
+        for (int i = 0; i < planificadores.length; i++) {
+            nombresPlanificadores[i] = Planificador.crear(planificadores[i].trim(), Collections.emptyList()).getNombre();
+        }
+        
+        // Armar los puntos de la grilla en orden, con el último parámetro variando más rápido;
+        // los que no cumplen las reglas de la Opción 2 se omiten y se cuentan por motivo
+        List<PuntoBarrido> puntos = new ArrayList<>();
+        Map<String, Integer> omitidos = new LinkedHashMap<>();
+        int[] largos = {tamanosPagina.length, numerosProcesos.length, marcos.length, tamanos.length, politicas.length,
+                        reemplazos.length, asignaciones.length, controles.length, planificadores.length, quantums.length,
+                        prebusquedas.length, ventanas.length};
+        int[] indices = new int[largos.length];
+        do {
+            int nproc = numerosProcesos[indices[1]];
+            int totalMarcos = marcos[indices[2]];
+            String reemplazo = obtenerReemplazo(reemplazos[indices[5]].trim());
+            String asignacionPunto = obtenerAsignacion(asignaciones[indices[6]].trim());
+            String control = controles[indices[7]].trim();
+            String motivo = motivoOmisionBarrido(nproc, totalMarcos, reemplazo, asignacionPunto, obtenerControlCarga(control));
+            if (motivo != null) {
+                omitidos.merge(motivo, 1, Integer::sum);
+                continue;
+            }
+            // Sin prebúsqueda la ventana no cambia nada: se simula una sola vez, con ventana 0
+            String prebusquedaPunto = prebusquedas[indices[10]].trim();
+            int ventana = ventanas[indices[11]];
+            boolean sinPrebusqueda = PoliticaPrebusqueda.crear(prebusquedaPunto, ventana) == null;
+            if (sinPrebusqueda && indices[11] != 0) {
+                continue;
+            }
+            puntos.add(new PuntoBarrido(tamanosPagina[indices[0]], nproc, totalMarcos, expandirTamanos(tamanos[indices[3]], nproc),
+                                        politicas[indices[4]].trim(), reemplazo, asignacionPunto, control,
+                                        nombresPlanificadores[indices[8]], quantums[indices[9]],
+                                        prebusquedaPunto, sinPrebusqueda ? 0 : ventana));
+        } while (siguienteCombinacion(indices, largos));
+        
+        int totalOmitidos = omitidos.values().stream().mapToInt(Integer::intValue).sum();
+        StringBuilder resumen = new StringBuilder("Puntos a simular: " + puntos.size() + " (omitidos: " + totalOmitidos);
+        for (Map.Entry<String, Integer> motivo : omitidos.entrySet()) {
+            resumen.append(", ").append(motivo.getKey()).append(": ").append(motivo.getValue());
+        }
+        System.out.println(resumen.append(")"));
+        System.out.println("Hilos: " + hilos);
+        System.out.println();
+        
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(hilos, puntos.size())));
+        PrintWriter writer = new PrintWriter(new FileWriter(salida));
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (PuntoBarrido punto : puntos) {
+                resultados.add(ejecutor.submit(() -> simularPuntoBarrido(punto.tp, punto.nproc, punto.marcos, punto.tamanos,
+                                                                         punto.politica, punto.reemplazo, punto.asignacion,
+                                                                         punto.control, punto.planificador, punto.quantum,
+                                                                         punto.prebusqueda, punto.ventana)));
+            }
+            
+            writer.println("Tamano_Pagina,Procesos,Marcos,Politica,Reemplazo,Asignacion,Control_Carga,Planificador,Quantum,Prebusqueda,Ventana,Tamanos_Matrices,Referencias,Fallas_Pagina,Hits," +
+                           "Accesos_SWAP,SWAP_Lecturas,SWAP_Escrituras,Prebusquedas_Utiles,Prebusquedas_Inutiles,Tasa_Fallas,Suspensiones,Turnos,Tiempo_ms");
+            for (int k = 0; k < resultados.size(); k++) {
+                String fila = esperarResultado(resultados.get(k));
+                writer.println(fila);
+                System.out.println("Punto " + (k + 1) + "/" + resultados.size() + ": " + fila);
+            }
+        } finally {
+            writer.close();
+            ejecutor.shutdownNow();
+        }
+        
+        System.out.println("\n=== BARRIDO COMPLETADO ===");
+        System.out.println("Resultados guardados en " + salida);
+    }
+    
+    /**
+     * Motivo por el que un punto del barrido no cumple las reglas de la Opción 2
+     * @return null si el punto se puede simular
+     */
+    private static String motivoOmisionBarrido(int nproc, int totalMarcos, String reemplazo, String asignacion,
+                                               boolean controlCarga) {
+        if (totalMarcos % nproc != 0 || totalMarcos < nproc) {
+            return "marcos no múltiplos de NPROC";
+        }
+        // PFF reparte marcos entre procesos: con reemplazo global no hay reparto
+        if (REEMPLAZO_GLOBAL.equals(reemplazo) && ASIGNACION_PFF.equals(asignacion)) {
+            return "PFF con reemplazo global";
+        }
+        // El control de carga solo se combina con el reparto equitativo y local
+        if (controlCarga && (REEMPLAZO_GLOBAL.equals(reemplazo) || ASIGNACION_PFF.equals(asignacion))) {
+            return "control de carga sin reparto equitativo local";
+        }
+        return null;
+    }
+    
+    /**
+     * Pasa a la siguiente combinación de índices, como un odómetro con el último índice
+     * variando más rápido
+     * @return false si ya se recorrieron todas
+     */
+    private static boolean siguienteCombinacion(int[] indices, int[] largos) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            if (++indices[i] < largos[i]) {
+                return true;
+            }
+            indices[i] = 0;
+        }
+        return false;
+    }
+    
+    /**
+     * Lee una lista de enteros positivos separados por comas de la configuración del barrido
+     */
+    private int[] leerListaBarrido(String clave) {
+        String valor = opciones.get(clave);
+        if (valor == null || valor.isEmpty()) {
+            throw new IllegalArgumentException("Error: falta " + clave + " en " + ARCHIVO_CONFIG_BARRIDO);
+        }
+        String[] partes = valor.split(",");
+        int[] valores = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            try {
+                valores[i] = Integer.parseInt(partes[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Error: " + clave + " debe ser una lista de números enteros");
+            }
+            if (valores[i] <= 0) {
+                throw new IllegalArgumentException("Error: los valores de " + clave + " deben ser mayores que 0");
+            }
+        }
+        return valores;
+    }
+    
+    /**
+     * Expande una entrada de TAMS (por ejemplo "100" o "50/75") a un tamaño por proceso
+     * Si hay menos tamaños que procesos, se repiten cíclicamente
+     */
+    private int[] expandirTamanos(String tams, int nproc) {
+        String[] partes = tams.split("/");
+        int[] tamanosProcesos = new int[nproc];
+        for (int i = 0; i < nproc; i++) {
+            try {
+                tamanosProcesos[i] = Integer.parseInt(partes[i % partes.length].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Error: TAMS debe tener la forma 100,50/75,...");
+            }
+            if (tamanosProcesos[i] <= 0) {
+                throw new IllegalArgumentException("Error: los tamaños de TAMS deben ser mayores que 0");
+            }
+        }
+        return tamanosProcesos;
+    }
+    
+    /**
+     * Simula un punto del barrido en un simulador propio y sin mensajes por turno
+     * @return Fila del CSV de resultados
+     */
+    private static String simularPuntoBarrido(int tp, int nproc, int totalMarcos, int[] tamanos,
+                                              String politica, String reemplazo, String asignacion, String control,
+                                              String planificador, int quantum, String prebusqueda, int ventana) throws IOException {
+        SimuladorMemoriaVirtual punto = new SimuladorMemoriaVirtual();
+        punto.tamanoPagina = tp;
+        punto.numeroProcesos = nproc;
+        punto.totalMarcosRAM = totalMarcos;
+        punto.tamanosMatrices = tamanos;
+        punto.prebusqueda = prebusqueda;
+        punto.ventanaPrebusqueda = Math.max(ventana, 1);
+        punto.reemplazoGlobal = REEMPLAZO_GLOBAL.equals(reemplazo);
+        punto.planificador = planificador;
+        punto.quantum = quantum;
+        punto.gestorMemoria = new GestorMemoria(tp, totalMarcos, PoliticaReemplazo.crear(politica, totalMarcos));
+        
+        long inicio = System.nanoTime();
+        punto.cargarProcesos(true);
+        if (ASIGNACION_PFF.equals(asignacion)) {
+            punto.asignador = new AsignadorPFF(punto.gestorMemoria, punto.procesos, INTERVALO_POR_DEFECTO,
+                                               PFF_ALTO_POR_DEFECTO, PFF_BAJO_POR_DEFECTO);
+        }
+        if (obtenerControlCarga(control)) {
+            punto.controlCarga = new ControlCarga(punto.gestorMemoria, punto.procesos, INTERVALO_POR_DEFECTO,
+                                                  CARGA_ALTA_POR_DEFECTO, CARGA_BAJA_POR_DEFECTO);
+        }
+        punto.simularEjecucion();
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        
+        long totalReferencias = 0;
+        long totalFallos = 0;
+        long totalLecturasSWAP = 0;
+        long totalEscriturasSWAP = 0;
+        long prebusquedasUtiles = 0;
+        long prebusquedasInutiles = 0;
+        for (Proceso proceso : punto.procesos) {
+            totalReferencias += proceso.getTotalReferencias();
+            totalFallos += proceso.getTotalFallosPagina();
+            totalLecturasSWAP += proceso.getTotalLecturasSWAP();
+            totalEscriturasSWAP += proceso.getTotalEscriturasSWAP();
+            prebusquedasUtiles += proceso.getPrebusquedasUtiles();
+            prebusquedasInutiles += proceso.getPrebusquedasInutiles();
+        }
+        
+        StringBuilder tams = new StringBuilder();
+        for (int i = 0; i < tamanos.length; i++) {
+            tams.append(i == 0 ? "" : "/").append(tamanos[i]);
+        }
+        double tasaFallos = totalReferencias == 0 ? 0.0 : (double) totalFallos / totalReferencias;
+        return tp + "," + nproc + "," + totalMarcos + "," + politica + "," + reemplazo + "," + asignacion + "," + control + "," + planificador + "," + quantum + "," + prebusqueda + "," + ventana + "," + tams + "," +
+            totalReferencias + "," + totalFallos + "," + (totalReferencias - totalFallos) + "," +
+            (totalLecturasSWAP + totalEscriturasSWAP) + "," + totalLecturasSWAP + "," + totalEscriturasSWAP + "," +
+            prebusquedasUtiles + "," + prebusquedasInutiles + "," + String.format(Locale.ROOT, "%.4f", tasaFallos) + "," +
+            (punto.controlCarga != null ? punto.controlCarga.getSuspensiones() : 0) + "," + punto.turnosSimulados + "," + milisegundos;
+    }
+    
     /**
      * Lee el archivo de configuración
      */
@@ -149,6 +531,8 @@ public class SimuladorMemoriaVirtual {
                 this.tamanosMatrices[i] = scanner.nextInt();
             }
             
+            leerOpciones(scanner);
+            
         } finally {
             scanner.close();
         }
@@ -167,6 +551,179 @@ public class SimuladorMemoriaVirtual {
         }
     }
     
+    /**
+     * Lee las opciones CLAVE=valor que siguen a los parámetros numéricos
+     * Los demás valores sobrantes se ignoran, como antes
+     */
+    private void leerOpciones(Scanner scanner) {
+        opciones.clear();
+        while (scanner.hasNext()) {
+            String token = scanner.next();
+            int igual = token.indexOf('=');
+            if (igual > 0) {
+                opciones.put(token.substring(0, igual).toUpperCase(), token.substring(igual + 1).toLowerCase());
+            }
+        }
+    }
+    
+    /**
+     * Obtiene el formato de archivos de proceso pedido en la configuración (FORMATO=texto|binario)
+     * @return El formato, o null si no se especificó
+     */
+    private String obtenerFormato() {
+        String formato = opciones.get("FORMATO");
+        if (formato != null && !formato.equals(FORMATO_TEXTO) && !formato.equals(FORMATO_BINARIO)) {
+            throw new IllegalArgumentException("Error: FORMATO debe ser " + FORMATO_TEXTO + " o " + FORMATO_BINARIO);
+        }
+        return formato;
+    }
+    
+    /**
+     * Obtiene el nivel de mensajes de la Opción 2 (REGISTRO=ninguno|resumen|fallos|referencias)
+     */
+    private NivelRegistro obtenerNivelRegistro() {
+        return NivelRegistro.desdeNombre(opciones.getOrDefault("REGISTRO", "fallos"));
+    }
+    
+    /**
+     * Obtiene el modo de ejecución de la Opción 2 (EJECUCION=eventos|turnos|paralela|hilos)
+     */
+    private String obtenerEjecucion() {
+        String ejecucion = opciones.getOrDefault("EJECUCION", EJECUCION_EVENTOS);
+        if (!EJECUCION_EVENTOS.equals(ejecucion) && !EJECUCION_TURNOS.equals(ejecucion)
+                && !EJECUCION_PARALELA.equals(ejecucion) && !EJECUCION_HILOS.equals(ejecucion)) {
+            throw new IllegalArgumentException("Error: EJECUCION debe ser eventos, turnos, paralela o hilos");
+        }
+        return ejecucion;
+    }
+    
+    /**
+     * Valida el modo de reemplazo (REEMPLAZO=local|global)
+     */
+    private static String obtenerReemplazo(String reemplazo) {
+        if (!REEMPLAZO_LOCAL.equals(reemplazo) && !REEMPLAZO_GLOBAL.equals(reemplazo)) {
+            throw new IllegalArgumentException("Error: REEMPLAZO debe ser local o global");
+        }
+        return reemplazo;
+    }
+    
+    /**
+     * Valida un valor de CONTROL_CARGA del barrido (si|no)
+     * @return true si se pide el control de carga
+     */
+    private static boolean obtenerControlCarga(String control) {
+        if (!"si".equals(control) && !"no".equals(control)) {
+            throw new IllegalArgumentException("Error: CONTROL_CARGA debe ser si o no");
+        }
+        return "si".equals(control);
+    }
+    
+    /**
+     * Valida el reparto de marcos entre procesos (ASIGNACION=equitativa|pff)
+     */
+    private static String obtenerAsignacion(String asignacion) {
+        if (!ASIGNACION_EQUITATIVA.equals(asignacion) && !ASIGNACION_PFF.equals(asignacion)) {
+            throw new IllegalArgumentException("Error: ASIGNACION debe ser equitativa o pff");
+        }
+        return asignacion;
+    }
+    
+    /**
+     * Obtiene el máximo de páginas prebuscadas por fallo (VENTANA=n)
+     */
+    private int obtenerVentanaPrebusqueda() {
+        try {
+            return Integer.parseInt(opciones.getOrDefault("VENTANA", String.valueOf(VENTANA_POR_DEFECTO)).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Error: VENTANA debe ser un número entero positivo");
+        }
+    }
+    
+    /**
+     * Obtiene las referencias seguidas de un proceso por turno de la cola (QUANTUM=n)
+     */
+    private int obtenerQuantum() {
+        long valor = leerOpcionEntera("QUANTUM", QUANTUM_POR_DEFECTO);
+        if (valor == 0) {
+            throw new IllegalArgumentException("Error: QUANTUM debe ser un número entero positivo");
+        }
+        return (int) valor;
+    }
+    
+    /**
+     * Indica si la cola es la rotativa de a una referencia por turno, la del enunciado
+     */
+    private boolean planificacionPorDefecto() {
+        return PLANIFICADOR_POR_DEFECTO.equals(planificador) && quantum == QUANTUM_POR_DEFECTO;
+    }
+    
+    /**
+     * Lee una opción numérica entera no negativa, o devuelve el valor por defecto si no está
+     */
+    private long leerOpcionEntera(String clave, long porDefecto) {
+        if (!opciones.containsKey(clave)) {
+            return porDefecto;
+        }
+        try {
+            long valor = Long.parseLong(opciones.get(clave).trim());
+            if (valor >= 0 && valor <= Integer.MAX_VALUE) {
+                return valor;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo
+        }
+        throw new IllegalArgumentException("Error: " + clave + " debe ser un número entero no negativo");
+    }
+    
+    /**
+     * Lee una opción decimal entre 0 y 1, o devuelve el valor por defecto si no está
+     */
+    private double leerOpcionDecimal(String clave, double porDefecto) {
+        if (!opciones.containsKey(clave)) {
+            return porDefecto;
+        }
+        try {
+            double valor = Double.parseDouble(opciones.get(clave).trim());
+            if (valor >= 0 && valor <= 1) {
+                return valor;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo
+        }
+        throw new IllegalArgumentException("Error: " + clave + " debe ser un número entre 0 y 1");
+    }
+    
+    /**
+     * Obtiene la fuente de direcciones de la Opción 2 (FUENTE=archivo|generador)
+     */
+    private String obtenerFuente() {
+        String fuente = opciones.getOrDefault("FUENTE", FUENTE_ARCHIVO);
+        if (!fuente.equals(FUENTE_ARCHIVO) && !fuente.equals(FUENTE_GENERADOR)) {
+            throw new IllegalArgumentException("Error: FUENTE debe ser " + FUENTE_ARCHIVO + " o " + FUENTE_GENERADOR);
+        }
+        return fuente;
+    }
+    
+    /**
+     * Toma de config.txt los tamaños de matrices (TAMS) que usaría la Opción 1,
+     * conservando los parámetros ya leídos para la Opción 2
+     */
+    private void leerTamanosMatricesOpcion1() throws IOException {
+        int tamanoPaginaOpcion2 = this.tamanoPagina;
+        int numeroProcesosOpcion2 = this.numeroProcesos;
+        Map<String, String> opcionesOpcion2 = new HashMap<>(this.opciones);
+        
+        leerConfiguracion();
+        if (this.numeroProcesos < numeroProcesosOpcion2) {
+            throw new IllegalArgumentException("Error: " + ARCHIVO_CONFIG + " define " + this.numeroProcesos +
+                " procesos y " + ARCHIVO_CONFIG_OPCION2 + " pide " + numeroProcesosOpcion2);
+        }
+        
+        this.tamanoPagina = tamanoPaginaOpcion2;
+        this.numeroProcesos = numeroProcesosOpcion2;
+        this.opciones = opcionesOpcion2;
+    }
+    
     /**
      * Muestra la configuración leída
      */
@@ -178,141 +735,136 @@ public class SimuladorMemoriaVirtual {
         for (int i = 0; i < numeroProcesos; i++) {
             System.out.println("    Proceso " + i + ": " + tamanosMatrices[i] + "x" + tamanosMatrices[i]);
         }
+        if (FORMATO_BINARIO.equals(obtenerFormato())) {
+            System.out.println("  Formato de salida: binario");
+        }
         System.out.println();
     }
     
     /**
      * Genera los archivos de salida para todos los procesos
+     * Cada archivo se genera en paralelo en un pool acotado de hilos; los mensajes
+     * se muestran en el orden de los procesos
      */
     private void generarArchivosProcesos() throws IOException {
-        for (int i = 0; i < numeroProcesos; i++) {
-            generarArchivoProceso(i, tamanosMatrices[i]);
+        boolean binario = FORMATO_BINARIO.equals(obtenerFormato());
+        int hilos = Math.min(numeroProcesos, Runtime.getRuntime().availableProcessors());
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < numeroProcesos; i++) {
+                final int numeroProceso = i;
+                resultados.add(ejecutor.submit(() -> generarArchivoProceso(numeroProceso, tamanosMatrices[numeroProceso], binario)));
+            }
+            
+            for (Future<String> resultado : resultados) {
+                System.out.println(esperarResultado(resultado));
+            }
+        } finally {
+            ejecutor.shutdownNow();
         }
     }
     
     /**
-     * Genera el archivo de salida para un proceso específico
+     * Espera la generación de un archivo y propaga sus errores como IOException
      */
-    private void generarArchivoProceso(int numeroProceso, int tamanoMatriz) throws IOException {
-        String nombreArchivo = "proc" + numeroProceso + ".txt";
-        PrintWriter writer = new PrintWriter(new FileWriter(nombreArchivo));
+    private String esperarResultado(Future<String> resultado) throws IOException {
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Generación de archivos interrumpida");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) {
+                throw (IOException) causa;
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IOException(causa);
+        }
+    }
+    
+    /**
+     * Genera el archivo de salida para un proceso específico (proc<i>.txt, o proc<i>.bin si es binario)
+     * @return Mensaje con el resumen del archivo generado
+     */
+    private String generarArchivoProceso(int numeroProceso, int tamanoMatriz, boolean binario) throws IOException {
+        String nombreArchivo = "proc" + numeroProceso + (binario ? ".bin" : ".txt");
+        
+        // Calcular métricas del proceso
+        int numeroFilas = tamanoMatriz;
+        int numeroColumnas = tamanoMatriz;
+        long numeroReferencias = calcularNumeroReferencias(numeroFilas, numeroColumnas);
+        int numeroPaginasVirtuales = calcularNumeroPaginasVirtuales(numeroFilas, numeroColumnas);
+        
+        // El encabezado (TP, NF, NC, NR, NP) lo escribe el escritor al crearse
+        EscritorTraza escritor;
+        if (binario) {
+            escritor = new EscritorTrazaBinaria(nombreArchivo, tamanoPagina,
+                numeroFilas, numeroColumnas, numeroReferencias, numeroPaginasVirtuales);
+        } else {
+            escritor = new EscritorTrazaTexto(nombreArchivo, tamanoPagina,
+                numeroFilas, numeroColumnas, numeroReferencias, numeroPaginasVirtuales);
+        }
         
         try {
-            // Calcular métricas del proceso
-            int numeroFilas = tamanoMatriz;
-            int numeroColumnas = tamanoMatriz;
-            int numeroReferencias = calcularNumeroReferencias(numeroFilas, numeroColumnas);
-            int numeroPaginasVirtuales = calcularNumeroPaginasVirtuales(numeroFilas, numeroColumnas);
-            
-            // Escribir encabezado del archivo en formato del anexo
-            writer.println("TP=" + tamanoPagina);           // TP=128
-            writer.println("NF=" + numeroFilas);            // NF=4
-            writer.println("NC=" + numeroColumnas);         // NC=4
-            writer.println("NR=" + numeroReferencias);      // NR=48
-            writer.println("NP=" + numeroPaginasVirtuales); // NP=2
-            
             // Generar y escribir referencias en formato del anexo
-            generarReferenciasFormatoAnexo(writer, numeroFilas, numeroColumnas);
-            
-            System.out.println("Archivo generado: " + nombreArchivo + 
-                             " (Referencias: " + numeroReferencias + 
-                             ", Páginas: " + numeroPaginasVirtuales + ")");
-            
+            generarReferenciasFormatoAnexo(escritor, numeroFilas, numeroColumnas);
         } finally {
-            writer.close();
+            escritor.close();
         }
+        
+        return "Archivo generado: " + nombreArchivo + 
+               " (Referencias: " + numeroReferencias + 
+               ", Páginas: " + numeroPaginasVirtuales + ")";
     }
     
     /**
      * Calcula el número de referencias que generará el proceso
      * Cada iteración del doble for genera 3 accesos: matriz1[i][j], matriz2[i][j], matriz3[i][j]
      */
-    private int calcularNumeroReferencias(int filas, int columnas) {
-        return filas * columnas * 3; // 3 matrices por cada elemento
+    private long calcularNumeroReferencias(int filas, int columnas) {
+        return GeneradorDirecciones.calcularNumeroReferencias(filas, columnas);
     }
     
     /**
      * Calcula el número de páginas virtuales necesarias para el proceso
      */
     private int calcularNumeroPaginasVirtuales(int filas, int columnas) {
-        // Cada matriz ocupa: filas * columnas * 4 bytes
-        int bytesPorMatriz = filas * columnas * TAMANO_ENTERO;
-        int bytesTotales = bytesPorMatriz * 3; // 3 matrices
-        
-        // Calcular páginas necesarias (redondeo hacia arriba)
-        int paginasNecesarias = (bytesTotales + tamanoPagina - 1) / tamanoPagina;
-        
-        return paginasNecesarias;
-    }
-    
-    /**
-     * Genera las direcciones virtuales que produciría el proceso
-     * Simula el acceso a memoria del código: matriz3[i][j] = matriz1[i][j] + matriz2[i][j]
-     */
-    private List<Integer> generarDireccionesVirtuales(int filas, int columnas) {
-        List<Integer> direcciones = new ArrayList<>();
-        
-        // Calcular direcciones base de cada matriz
-        int bytesPorMatriz = filas * columnas * TAMANO_ENTERO;
-        int direccionBaseMatriz1 = 0;
-        int direccionBaseMatriz2 = direccionBaseMatriz1 + bytesPorMatriz;
-        int direccionBaseMatriz3 = direccionBaseMatriz2 + bytesPorMatriz;
-        
-        // Simular el doble for del código
-        for (int i = 0; i < filas; i++) {
-            for (int j = 0; j < columnas; j++) {
-                // Calcular offset dentro de la matriz (row-major order)
-                int offset = (i * columnas + j) * TAMANO_ENTERO;
-                
-                // Generar las 3 direcciones virtuales por iteración:
-                // 1. Lectura de matriz1[i][j]
-                direcciones.add(direccionBaseMatriz1 + offset);
-                
-                // 2. Lectura de matriz2[i][j]
-                direcciones.add(direccionBaseMatriz2 + offset);
-                
-                // 3. Escritura de matriz3[i][j]
-                direcciones.add(direccionBaseMatriz3 + offset);
-            }
-        }
-        
-        return direcciones;
+        return GeneradorDirecciones.calcularNumeroPaginas(filas, columnas, tamanoPagina);
     }
     
     /**
      * Genera las referencias en el formato del anexo
      * Formato: M1:[i-j],pagina,offset,operacion
      */
-    private void generarReferenciasFormatoAnexo(PrintWriter writer, int filas, int columnas) throws IOException {
+    private void generarReferenciasFormatoAnexo(EscritorTraza escritor, int filas, int columnas) throws IOException {
         // Calcular direcciones base de cada matriz
-        int bytesPorMatriz = filas * columnas * TAMANO_ENTERO;
-        int direccionBaseMatriz1 = 0;
-        int direccionBaseMatriz2 = direccionBaseMatriz1 + bytesPorMatriz;
-        int direccionBaseMatriz3 = direccionBaseMatriz2 + bytesPorMatriz;
+        long bytesPorMatriz = (long) filas * columnas * TAMANO_ENTERO;
+        long direccionBaseMatriz1 = 0;
+        long direccionBaseMatriz2 = direccionBaseMatriz1 + bytesPorMatriz;
+        long direccionBaseMatriz3 = direccionBaseMatriz2 + bytesPorMatriz;
         
         // Simular el doble for del código
         for (int i = 0; i < filas; i++) {
             for (int j = 0; j < columnas; j++) {
                 // Calcular offset dentro de la matriz (row-major order)
-                int offset = (i * columnas + j) * TAMANO_ENTERO;
+                long offset = ((long) i * columnas + j) * TAMANO_ENTERO;
                 
                 // 1. Lectura de matriz1[i][j]
-                int direccion1 = direccionBaseMatriz1 + offset;
-                int pagina1 = direccion1 / tamanoPagina;
-                int offsetPagina1 = direccion1 % tamanoPagina;
-                writer.println("M1:[" + i + "-" + j + "]," + pagina1 + "," + offsetPagina1 + ",r");
+                long direccion1 = direccionBaseMatriz1 + offset;
+                escritor.escribir(1, i, j, (int) (direccion1 / tamanoPagina), (int) (direccion1 % tamanoPagina), false);
                 
                 // 2. Lectura de matriz2[i][j]
-                int direccion2 = direccionBaseMatriz2 + offset;
-                int pagina2 = direccion2 / tamanoPagina;
-                int offsetPagina2 = direccion2 % tamanoPagina;
-                writer.println("M2:[" + i + "-" + j + "]," + pagina2 + "," + offsetPagina2 + ",r");
+                long direccion2 = direccionBaseMatriz2 + offset;
+                escritor.escribir(2, i, j, (int) (direccion2 / tamanoPagina), (int) (direccion2 % tamanoPagina), false);
                 
                 // 3. Escritura de matriz3[i][j]
-                int direccion3 = direccionBaseMatriz3 + offset;
-                int pagina3 = direccion3 / tamanoPagina;
-                int offsetPagina3 = direccion3 % tamanoPagina;
-                writer.println("M3:[" + i + "-" + j + "]," + pagina3 + "," + offsetPagina3 + ",w");
+                long direccion3 = direccionBaseMatriz3 + offset;
+                escritor.escribir(3, i, j, (int) (direccion3 / tamanoPagina), (int) (direccion3 % tamanoPagina), true);
             }
         }
     }
@@ -350,6 +902,8 @@ public class SimuladorMemoriaVirtual {
             }
             this.totalMarcosRAM = scanner.nextInt();
             
+            leerOpciones(scanner);
+            
         } finally {
             scanner.close();
         }
@@ -377,160 +931,619 @@ public class SimuladorMemoriaVirtual {
         System.out.println("  TP (Tamaño de página): " + tamanoPagina + " bytes");
         System.out.println("  NPROC (Número de procesos): " + numeroProcesos);
         System.out.println("  Total de marcos en RAM: " + totalMarcosRAM);
-        System.out.println("  Marcos por proceso: " + (totalMarcosRAM / numeroProcesos));
+        if (reemplazoGlobal) {
+            System.out.println("  Reemplazo global: los marcos se comparten entre todos los procesos");
+        } else {
+            System.out.println("  Marcos por proceso: " + (totalMarcosRAM / numeroProcesos));
+        }
+        System.out.println("  Política de reemplazo: " + opciones.getOrDefault("POLITICA", POLITICA_POR_DEFECTO).toUpperCase());
+        if (ASIGNACION_PFF.equals(asignacion)) {
+            System.out.println("  Asignación de marcos PFF: cada " + leerOpcionEntera("INTERVALO", INTERVALO_POR_DEFECTO) +
+                " turnos, recibe marcos con tasa de fallos > " + leerOpcionDecimal("PFF_ALTO", PFF_ALTO_POR_DEFECTO) +
+                " y cede con tasa < " + leerOpcionDecimal("PFF_BAJO", PFF_BAJO_POR_DEFECTO));
+        }
+        if (!planificacionPorDefecto()) {
+            System.out.println("  Planificador: " + planificador + ", hasta " + quantum + " referencias por turno de la cola");
+        }
+        if ("si".equals(opciones.get("CONTROL_CARGA"))) {
+            System.out.println("  Control de carga: cada " + leerOpcionEntera("INTERVALO", INTERVALO_POR_DEFECTO) +
+                " turnos, suspende un proceso con tasa de fallos conjunta > " + leerOpcionDecimal("CARGA_ALTA", CARGA_ALTA_POR_DEFECTO) +
+                " y reanuda con tasa < " + leerOpcionDecimal("CARGA_BAJA", CARGA_BAJA_POR_DEFECTO));
+        }
+        if ("si".equals(opciones.get("OPT"))) {
+            System.out.println("  Comparación con el reemplazo óptimo (OPT)");
+        }
+        if (!PREBUSQUEDA_POR_DEFECTO.equalsIgnoreCase(prebusqueda)) {
+            System.out.println("  Prebúsqueda: " + prebusqueda.toUpperCase() + " (hasta " + ventanaPrebusqueda + " páginas por fallo)");
+        }
+        if ("si".equals(opciones.get("MONITOR"))) {
+            System.out.println("  Contadores publicados por JMX en caso2:type=Simulacion");
+        }
+        if ("si".equals(opciones.get("DISPOSITIVO"))) {
+            System.out.println("  Dispositivo de SWAP: latencia de lectura " + leerOpcionEntera("LATENCIA_LECTURA", LATENCIA_POR_DEFECTO) +
+                ", de escritura " + leerOpcionEntera("LATENCIA_ESCRITURA", LATENCIA_POR_DEFECTO) +
+                ", " + leerOpcionEntera("TRANSFERENCIA", TRANSFERENCIA_POR_DEFECTO) + " por página, lotes de hasta " +
+                leerOpcionEntera("LOTE", LOTE_POR_DEFECTO) + " páginas");
+        }
+        if (FUENTE_GENERADOR.equals(obtenerFuente())) {
+            System.out.println("  Referencias generadas al vuelo (sin archivos de proceso)");
+        }
         System.out.println();
     }
     
     /**
      * Carga los procesos desde los archivos generados por la Opción 1
+     * @param generarAlVuelo Si es true, las direcciones se generan a partir de TAMS en lugar de leerse
      */
-    private void cargarProcesos() throws IOException {
+    private void cargarProcesos(boolean generarAlVuelo) throws IOException {
         procesos = new ArrayList<>();
         
         for (int i = 0; i < numeroProcesos; i++) {
-            String nombreArchivo = "proc" + i + ".txt";
-            File archivo = new File(nombreArchivo);
-            
-            if (!archivo.exists()) {
-                throw new FileNotFoundException("No se encontró el archivo: " + nombreArchivo + 
-                    ". Ejecute primero la Opción 1.");
+            EventosJFR.CargaTraza evento = new EventosJFR.CargaTraza();
+            evento.begin();
+            FuenteDirecciones direccionesVirtuales = abrirFuenteProceso(i, generarAlVuelo);
+            if (evento.shouldCommit()) {
+                evento.proceso = i;
+                evento.origen = generarAlVuelo ? FUENTE_GENERADOR : FUENTE_ARCHIVO;
+                evento.referencias = direccionesVirtuales.getNumeroReferencias();
+                evento.paginas = direccionesVirtuales.getNumeroPaginas();
+                evento.commit();
             }
-            
-            List<Integer> direccionesVirtuales = leerDireccionesVirtuales(nombreArchivo);
             Proceso proceso = new Proceso(i, direccionesVirtuales);
+            proceso.setPrebusqueda(PoliticaPrebusqueda.crear(prebusqueda, ventanaPrebusqueda));
+            proceso.setDispositivo(dispositivo);
             procesos.add(proceso);
             
-            System.out.println("Proceso " + i + " cargado: " + direccionesVirtuales.size() + " direcciones virtuales");
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                System.out.println("Proceso " + i + (generarAlVuelo ? " generado: " : " cargado: ") +
+                    direccionesVirtuales.getNumeroReferencias() + " direcciones virtuales");
+            }
+        }
+        
+        if (reemplazoGlobal) {
+            // Todos los marcos quedan en un conjunto compartido
+            gestorMemoria.usarReemplazoGlobal(procesos);
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                System.out.println("Los " + totalMarcosRAM + " marcos se comparten entre los " + numeroProcesos + " procesos");
+                System.out.println();
+            }
+            return;
         }
         
         // Asignar marcos equitativamente
         for (Proceso proceso : procesos) {
             Set<Integer> marcosAsignados = gestorMemoria.asignarMarcosEquitativos(numeroProcesos, proceso.getId());
             proceso.asignarMarcos(marcosAsignados);
-            System.out.println("Proceso " + proceso.getId() + " asignado " + marcosAsignados.size() + " marcos");
+            if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                System.out.println("Proceso " + proceso.getId() + " asignado " + marcosAsignados.size() + " marcos");
+            }
         }
         
-        System.out.println();
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println();
+        }
+    }
+    
+    /**
+     * Abre las direcciones virtuales de un proceso, generadas a partir de TAMS o leídas de su archivo
+     */
+    private FuenteDirecciones abrirFuenteProceso(int numeroProceso, boolean generarAlVuelo) throws IOException {
+        if (generarAlVuelo) {
+            int tamano = tamanosMatrices[numeroProceso];
+            return new GeneradorDirecciones(tamano, tamano, tamanoPagina);
+        }
+        return abrirArchivoProceso(numeroProceso);
+    }
+    
+    /**
+     * Calcula los fallos de OPT de cada proceso con los marcos que recibió al inicio
+     */
+    private void calcularFallosOPT(boolean generarAlVuelo) throws IOException {
+        fallosOPT = new FallosOPT[numeroProcesos];
+        for (int i = 0; i < numeroProcesos; i++) {
+            fallosOPT[i] = FallosOPT.calcular(abrirFuenteProceso(i, generarAlVuelo), tamanoPagina,
+                                              totalMarcosRAM / numeroProcesos);
+        }
+    }
+    
+    /**
+     * Abre el archivo de un proceso en formato de texto (proc<i>.txt) o binario (proc<i>.bin)
+     * Si la configuración no fija el FORMATO se usa el que exista, o el más reciente si existen ambos
+     */
+    private FuenteDirecciones abrirArchivoProceso(int numeroProceso) throws IOException {
+        File texto = new File("proc" + numeroProceso + ".txt");
+        File binario = new File("proc" + numeroProceso + ".bin");
+        String formato = obtenerFormato();
+        
+        File archivo;
+        if (FORMATO_TEXTO.equals(formato)) {
+            archivo = texto;
+        } else if (FORMATO_BINARIO.equals(formato)) {
+            archivo = binario;
+        } else if (texto.exists() && binario.exists()) {
+            archivo = binario.lastModified() > texto.lastModified() ? binario : texto;
+        } else {
+            archivo = binario.exists() ? binario : texto;
+        }
+        
+        if (!archivo.exists()) {
+            throw new FileNotFoundException("No se encontró el archivo: " + archivo.getName() + 
+                ". Ejecute primero la Opción 1.");
+        }
+        
+        // El formato real se reconoce por la firma, no por la extensión
+        if (FormatoTrazaBinaria.esTrazaBinaria(archivo)) {
+            return new CursorTrazaBinaria(archivo.getPath(), tamanoPagina);
+        }
+        return new CursorTraza(archivo.getPath(), tamanoPagina);
     }
     
     /**
-     * Lee las direcciones virtuales de un archivo de proceso
+     * Simula la ejecución con un hilo por proceso (EJECUCION=paralela, HILOS=n opcional)
+     * Los resultados y los números de turno son los mismos que con simularEjecucion
      */
-    private List<Integer> leerDireccionesVirtuales(String nombreArchivo) throws IOException {
-        List<Integer> direcciones = new ArrayList<>();
-        Scanner scanner = new Scanner(new File(nombreArchivo));
+    private void simularEjecucionParalela(boolean generarAlVuelo) throws IOException {
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Iniciando simulación de ejecución...");
+        }
         
+        long hilos = leerOpcionEntera("HILOS", Runtime.getRuntime().availableProcessors());
+        if (hilos == 0) {
+            throw new IllegalArgumentException("Error: HILOS debe ser un número entero positivo");
+        }
+        SimulacionParalela simulacion = new SimulacionParalela(procesos, gestorMemoria, registro,
+            numeroProceso -> abrirFuenteProceso(numeroProceso, generarAlVuelo), monitor);
+        long turno = simulacion.ejecutar((int) hilos);
+        
+        turnosSimulados = turno;
+        if (monitor != null) {
+            monitor.publicar(procesos, turno);
+        }
+        registro.vaciar();
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Simulación completada en " + turno + " turnos.");
+        }
+    }
+    
+    /**
+     * Simula la ejecución con un hilo por proceso que se pasan el turno (EJECUCION=hilos)
+     * Los resultados y los números de turno son los mismos que con simularEjecucion
+     */
+    private void simularEjecucionHilos() throws IOException {
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Iniciando simulación de ejecución...");
+        }
+        
+        // Con reemplazo global cada acierto cambia la política que comparten todos: uno por turno
+        int maximoRafaga = reemplazoGlobal ? 1
+                           : registro.habilitado(NivelRegistro.FALLOS) ? MAXIMO_RAFAGA_REGISTRADA : Integer.MAX_VALUE;
+        SimulacionHilos simulacion = new SimulacionHilos(procesos, gestorMemoria, registro, monitor, maximoRafaga);
+        long turno;
         try {
-            // Saltar las primeras 5 líneas (TP=, NF=, NC=, NR=, NP=)
-            for (int i = 0; i < 5; i++) {
-                if (scanner.hasNextLine()) {
-                    scanner.nextLine();
-                }
-            }
-            
-            // Leer referencias en formato del anexo y extraer direcciones virtuales
-            while (scanner.hasNextLine()) {
-                String linea = scanner.nextLine();
-                if (linea.contains(",")) {
-                    // Formato: M1:[i-j],pagina,offset,operacion
-                    String[] partes = linea.split(",");
-                    if (partes.length >= 2) {
-                        int pagina = Integer.parseInt(partes[1]);
-                        int offset = Integer.parseInt(partes[2]);
-                        int direccion = pagina * tamanoPagina + offset;
-                        direcciones.add(direccion);
-                    }
-                }
-            }
-            
-        } finally {
-            scanner.close();
+            turno = simulacion.ejecutar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Simulación interrumpida");
         }
         
-        return direcciones;
+        turnosSimulados = turno;
+        if (monitor != null) {
+            monitor.publicar(procesos, turno);
+        }
+        registro.vaciar();
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Simulación completada en " + turno + " turnos.");
+        }
     }
     
     /**
      * Simula la ejecución de los procesos con política de turnos
+     *
+     * Un acierto solo cambia el estado de su propio proceso, así que cuando a un
+     * proceso le toca un acierto se procesan de una vez todas sus direcciones
+     * seguidas cuya página ya está en memoria. Esos aciertos quedan adelantados y
+     * se descuentan en sus próximos turnos, manteniendo el orden de la cola; si
+     * todos los procesos de la cola tienen aciertos adelantados se saltan rondas
+     * completas. Fallos, accesos SWAP y números de turno son los mismos que
+     * procesando una dirección por turno. Con reemplazo global un acierto cambia
+     * el orden de la política que comparten todos, y con PFF o control de carga
+     * los marcos de un proceso pueden cambiar entre sus turnos, así que se procesa
+     * uno por turno; con otro planificador tampoco se adelantan, porque el orden
+     * de la cola depende de los contadores de los procesos.
+     *
+     * Con QUANTUM=n el proceso que sale de la cola procesa hasta n referencias
+     * seguidas, una por turno, y vuelve a la cola al terminarlas o al tener un
+     * fallo. Sus aciertos seguidos no se intercalan con otros procesos, así que se
+     * procesan de una vez.
      */
     private void simularEjecucion() {
-        System.out.println("Iniciando simulación de ejecución...");
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Iniciando simulación de ejecución...");
+        }
         
-        Queue<Proceso> colaProcesos = new LinkedList<>(procesos);
-        int turno = 0;
+        Planificador colaProcesos = Planificador.crear(planificador, procesos);
+        for (Proceso proceso : procesos) {
+            colaProcesos.agregar(proceso);
+        }
+        long turno = 0;
+        Proceso enEjecucion = null; // Proceso que sigue en su quantum (null si le toca a la cola)
+        int quantumRestante = 0;
+        
+        // Aciertos ya procesados de cada proceso que aún no tuvieron su turno, y sus direcciones
+        // (solo se guardan si hay que mostrarlas, y entonces cada ráfaga tiene un máximo)
+        boolean mostrarAciertos = registro.habilitado(NivelRegistro.FALLOS);
+        int maximoRafaga = EJECUCION_TURNOS.equals(ejecucion) || reemplazoGlobal || asignador != null || controlCarga != null
+                           || !planificacionPorDefecto() ? 1 : mostrarAciertos ? MAXIMO_RAFAGA_REGISTRADA : Integer.MAX_VALUE;
+        long[] rafagaQuantum = quantum > 1 && mostrarAciertos ? new long[Math.min(quantum, MAXIMO_RAFAGA_REGISTRADA)] : null;
+        int[] adelantados = new int[procesos.size()];
+        int[] largoRafaga = new int[procesos.size()];
+        long[][] rafagas = new long[procesos.size()][];
+        int enColaConAdelanto = 0;
+        long proximaPublicacion = 0;
         
-        while (!colaProcesos.isEmpty()) {
-            Proceso procesoActual = colaProcesos.poll();
+        while (!colaProcesos.estaVacio() || enEjecucion != null) {
+            if (monitor != null && turno >= proximaPublicacion) {
+                monitor.publicar(procesos, turno);
+                proximaPublicacion = turno + MonitorSimulacion.TURNOS_ENTRE_PUBLICACIONES;
+            }
+            // Los marcos solo cambian de proceso entre un quantum y el siguiente
+            if (asignador != null && enEjecucion == null) {
+                asignador.avanzar(turno);
+            }
+            if (controlCarga != null && enEjecucion == null) {
+                controlCarga.avanzar(turno, colaProcesos);
+            }
+            
+            if (enColaConAdelanto > 0 && enColaConAdelanto == colaProcesos.tamano()) {
+                turno = saltarRondas(colaProcesos, adelantados, largoRafaga, rafagas, turno);
+                enColaConAdelanto = 0;
+                for (Proceso proceso : colaProcesos) {
+                    if (adelantados[proceso.getId()] > 0) {
+                        enColaConAdelanto++;
+                    }
+                }
+                continue;
+            }
+            
+            Proceso procesoActual = enEjecucion;
+            if (procesoActual != null) {
+                enEjecucion = null;
+            } else {
+                procesoActual = colaProcesos.siguiente();
+                quantumRestante = quantum;
+            }
+            int id = procesoActual.getId();
+            
+            if (adelantados[id] > 0) {
+                // Acierto ya procesado en una ráfaga anterior
+                if (registro.habilitado(NivelRegistro.REFERENCIAS) || (turno % 100 == 0 && mostrarAciertos)) {
+                    registro.acierto(turno, id, rafagas[id][largoRafaga[id] - adelantados[id]]);
+                }
+                adelantados[id]--;
+                if (adelantados[id] > 0 || !procesoActual.haTerminado()) {
+                    colaProcesos.agregar(procesoActual);
+                } else {
+                    registrarProcesoTerminado(procesoActual, turno);
+                }
+                if (adelantados[id] == 0) {
+                    enColaConAdelanto--;
+                }
+                turno++;
+                continue;
+            }
             
             if (procesoActual.haTerminado()) {
                 // Proceso terminado, reasignar sus marcos
-                Set<Integer> marcosLiberados = procesoActual.obtenerMarcosAsignados();
-                gestorMemoria.liberarMarcos(marcosLiberados);
-                gestorMemoria.reasignarMarcos(marcosLiberados, procesos);
-                System.out.println("Proceso " + procesoActual.getId() + " terminado. Marcos reasignados.");
+                if (asignador != null) {
+                    asignador.procesoTerminado(procesoActual);
+                } else if (controlCarga != null && controlCarga.getSuspendidos() > 0) {
+                    controlCarga.procesoTerminado(procesoActual, turno, colaProcesos);
+                } else {
+                    Set<Integer> marcosLiberados = procesoActual.obtenerMarcosAsignados();
+                    gestorMemoria.liberarMarcos(marcosLiberados);
+                    gestorMemoria.reasignarMarcos(marcosLiberados, procesos);
+                }
+                if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                    registro.procesoTerminado(id);
+                }
                 continue;
             }
             
             // Procesar siguiente dirección virtual
-            Integer direccionVirtual = procesoActual.obtenerSiguienteDireccion();
-            if (direccionVirtual == null) {
+            long direccionVirtual = procesoActual.obtenerSiguienteDireccion();
+            if (direccionVirtual == -1) {
                 continue;
             }
             
-            // Convertir dirección virtual a página
-            int paginaVirtual = procesoActual.direccionAPagina(direccionVirtual, tamanoPagina);
+            // Página de la dirección virtual
+            int paginaVirtual = procesoActual.obtenerPaginaActual();
             
             // Verificar si hay fallo de página
             boolean falloPagina = !procesoActual.paginaEnMemoria(paginaVirtual);
             
             if (falloPagina) {
                 // Intentar cargar página en memoria
-                int marcoAsignado = gestorMemoria.cargarPagina(paginaVirtual, procesoActual.obtenerMarcosAsignados());
+                EventosJFR.FalloPagina evento = new EventosJFR.FalloPagina();
+                evento.begin();
+                // Cargar la página; la reemplazada, si la hubo, sale de la tabla del proceso
+                int marcoAsignado = procesoActual.atenderFallo(paginaVirtual, gestorMemoria);
                 
                 if (marcoAsignado != -1) {
-                    // Página cargada exitosamente
-                    procesoActual.cargarPagina(paginaVirtual, marcoAsignado);
+                    // Reinsertar proceso al final de la cola (demorar un turno)
+                    colaProcesos.agregar(procesoActual);
                     
-                    // Contar accesos SWAP
-                    if (gestorMemoria.getMarcosLibres() > 0) {
-                        // Fallo sin reemplazo: 1 acceso SWAP
-                        procesoActual.incrementarAccesosSWAP(1);
-                    } else {
-                        // Fallo con reemplazo: 2 accesos SWAP
-                        procesoActual.incrementarAccesosSWAP(2);
+                    if (evento.shouldCommit()) {
+                        evento.proceso = id;
+                        evento.turno = turno;
+                        evento.pagina = paginaVirtual;
+                        evento.marco = marcoAsignado;
+                        evento.paginaDesalojada = gestorMemoria.getPaginaDesalojada();
+                        evento.paginaDesalojadaModificada = gestorMemoria.esPaginaDesalojadaModificada();
+                        evento.commit();
                     }
                     
-                    procesoActual.incrementarFallosPagina();
-                    
-                    // Reinsertar proceso al final de la cola (demorar un turno)
-                    colaProcesos.offer(procesoActual);
-                    
-                    System.out.println("Turno " + turno + ": Proceso " + procesoActual.getId() + 
-                        " - Fallo de página en dirección " + direccionVirtual + " (página " + paginaVirtual + ")");
+                    if (registro.habilitado(NivelRegistro.FALLOS)) {
+                        registro.fallo(turno, id, direccionVirtual, paginaVirtual);
+                    }
                 } else {
                     // No se pudo cargar la página (no debería pasar)
                     System.err.println("Error: No se pudo cargar página " + paginaVirtual + 
-                        " para proceso " + procesoActual.getId());
+                        " para proceso " + id);
+                }
+            } else if (quantum > 1) {
+                // Acierto dentro del quantum: procesar de una vez los aciertos seguidos que le quedan
+                int maximo = rafagaQuantum != null ? Math.min(quantumRestante, rafagaQuantum.length) : quantumRestante;
+                int aciertos = procesoActual.avanzarAciertos(maximo, gestorMemoria, rafagaQuantum);
+                for (int i = 0; rafagaQuantum != null && i < aciertos; i++) {
+                    if (registro.habilitado(NivelRegistro.REFERENCIAS) || (turno + i) % 100 == 0) {
+                        registro.acierto(turno + i, id, rafagaQuantum[i]);
+                    }
+                }
+                turno += aciertos;
+                quantumRestante -= aciertos;
+                
+                if (procesoActual.haTerminado()) {
+                    registrarProcesoTerminado(procesoActual, turno - 1);
+                    entregarMarcosAlTerminar(procesoActual, turno - 1, colaProcesos);
+                } else if (quantumRestante == 0) {
+                    colaProcesos.agregar(procesoActual);
+                } else {
+                    // Sigue en su turno: su próxima referencia es un fallo o un acierto que no cupo en la ráfaga
+                    enEjecucion = procesoActual;
                 }
+                continue;
             } else {
-                // Acierto: página ya en memoria
-                procesoActual.procesarDireccion();
+                // Acierto: procesar esta dirección y las siguientes que también estén en memoria
+                if (mostrarAciertos && rafagas[id] == null) {
+                    rafagas[id] = new long[maximoRafaga];
+                }
+                int aciertos = procesoActual.avanzarAciertos(maximoRafaga, gestorMemoria, rafagas[id]);
+                largoRafaga[id] = aciertos;
+                adelantados[id] = aciertos - 1;
                 
-                // Reinsertar proceso si no ha terminado
-                if (!procesoActual.haTerminado()) {
-                    colaProcesos.offer(procesoActual);
+                // Reinsertar proceso si le quedan turnos
+                if (adelantados[id] > 0) {
+                    enColaConAdelanto++;
+                    colaProcesos.agregar(procesoActual);
+                } else if (!procesoActual.haTerminado()) {
+                    colaProcesos.agregar(procesoActual);
+                } else {
+                    registrarProcesoTerminado(procesoActual, turno);
+                    entregarMarcosAlTerminar(procesoActual, turno, colaProcesos);
                 }
                 
-                if (turno % 100 == 0) { // Mostrar progreso cada 100 turnos
-                    System.out.println("Turno " + turno + ": Proceso " + procesoActual.getId() + 
-                        " - Acierto en dirección " + direccionVirtual);
+                // Mostrar cada acierto, o el progreso cada 100 turnos
+                if (registro.habilitado(NivelRegistro.REFERENCIAS) || (turno % 100 == 0 && mostrarAciertos)) {
+                    registro.acierto(turno, id, direccionVirtual);
                 }
             }
             
             turno++;
         }
         
-        System.out.println("Simulación completada en " + turno + " turnos.");
+        turnosSimulados = turno;
+        if (monitor != null) {
+            monitor.publicar(procesos, turno);
+        }
+        registro.vaciar();
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Simulación completada en " + turno + " turnos.");
+        }
+    }
+    
+    /**
+     * Con PFF los marcos de un proceso que terminó con un acierto pasan enseguida a
+     * los demás, y con control de carga al proceso que lleva más tiempo suspendido;
+     * si no, el proceso los conserva
+     */
+    private void entregarMarcosAlTerminar(Proceso proceso, long turno, Planificador colaProcesos) {
+        if (asignador != null) {
+            asignador.procesoTerminado(proceso);
+        } else if (controlCarga != null) {
+            controlCarga.procesoTerminado(proceso, turno, colaProcesos);
+        }
+    }
+    
+    /**
+     * Simula la ejecución por turnos con un reloj y un dispositivo de SWAP (DISPOSITIVO=si)
+     *
+     * Cada referencia usa una unidad de tiempo. Un fallo usa su turno para pedir al
+     * dispositivo las transferencias de sus páginas, y el proceso sale de la cola
+     * hasta que terminan sus lecturas; mientras tanto los demás procesos siguen. Al
+     * despertar vuelve al final de la cola. Si no hay procesos listos, el reloj salta
+     * al fin del lote en curso. Si un solo proceso está listo y no se muestran
+     * aciertos, procesa de una vez los que caben antes de que termine ese lote.
+     */
+    private void simularEjecucionConDispositivo() {
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Iniciando simulación de ejecución con dispositivo de SWAP...");
+        }
+        
+        Queue<Proceso> listos = new ArrayDeque<>(procesos);
+        long[] inicioEspera = new long[procesos.size()];
+        int bloqueados = 0;
+        long reloj = 0;
+        long turno = 0; // Turnos usados por los procesos (referencias y fallos)
+        boolean mostrarAciertos = registro.habilitado(NivelRegistro.FALLOS);
+        long proximaPublicacion = 0;
+        
+        while (!listos.isEmpty() || bloqueados > 0) {
+            if (monitor != null && turno >= proximaPublicacion) {
+                monitor.publicar(procesos, turno);
+                proximaPublicacion = turno + MonitorSimulacion.TURNOS_ENTRE_PUBLICACIONES;
+            }
+            
+            // Despertar a los procesos cuyas lecturas terminaron
+            for (int id = dispositivo.completarHasta(reloj); id != -1; id = dispositivo.completarHasta(reloj)) {
+                Proceso proceso = procesos.get(id);
+                proceso.agregarTiempoBloqueado(dispositivo.getFinCompletado() - inicioEspera[id]);
+                listos.offer(proceso);
+                bloqueados--;
+            }
+            if (listos.isEmpty()) {
+                reloj = dispositivo.getFinServicio();
+                continue;
+            }
+            
+            Proceso procesoActual = listos.poll();
+            int id = procesoActual.getId();
+            
+            if (procesoActual.haTerminado()) {
+                // Proceso sin direcciones, reasignar sus marcos
+                Set<Integer> marcosLiberados = procesoActual.obtenerMarcosAsignados();
+                gestorMemoria.liberarMarcos(marcosLiberados);
+                gestorMemoria.reasignarMarcos(marcosLiberados, procesos);
+                if (registro.habilitado(NivelRegistro.RESUMEN)) {
+                    registro.procesoTerminado(id);
+                }
+                continue;
+            }
+            
+            long direccionVirtual = procesoActual.obtenerSiguienteDireccion();
+            int paginaVirtual = procesoActual.obtenerPaginaActual();
+            
+            if (!procesoActual.paginaEnMemoria(paginaVirtual)) {
+                EventosJFR.FalloPagina evento = new EventosJFR.FalloPagina();
+                evento.begin();
+                int marcoAsignado = procesoActual.atenderFallo(paginaVirtual, gestorMemoria);
+                if (marcoAsignado == -1) {
+                    System.err.println("Error: No se pudo cargar página " + paginaVirtual +
+                        " para proceso " + id);
+                    continue;
+                }
+                
+                // Pedir las transferencias y esperar las lecturas fuera de la cola
+                dispositivo.enviar(id, reloj);
+                inicioEspera[id] = reloj;
+                bloqueados++;
+                
+                if (evento.shouldCommit()) {
+                    evento.proceso = id;
+                    evento.turno = reloj;
+                    evento.pagina = paginaVirtual;
+                    evento.marco = marcoAsignado;
+                    evento.paginaDesalojada = gestorMemoria.getPaginaDesalojada();
+                    evento.paginaDesalojadaModificada = gestorMemoria.esPaginaDesalojadaModificada();
+                    evento.commit();
+                }
+                if (registro.habilitado(NivelRegistro.FALLOS)) {
+                    registro.fallo(reloj, id, direccionVirtual, paginaVirtual);
+                }
+                reloj++;
+                turno++;
+            } else {
+                // Acierto; si nadie más puede usar el procesador, también los siguientes
+                int maximo = 1;
+                if (listos.isEmpty() && !mostrarAciertos) {
+                    maximo = dispositivo.estaOcupado()
+                        ? (int) Math.min(dispositivo.getFinServicio() - reloj, Integer.MAX_VALUE)
+                        : Integer.MAX_VALUE;
+                }
+                int aciertos = procesoActual.avanzarAciertos(Math.max(maximo, 1), gestorMemoria, null);
+                if (registro.habilitado(NivelRegistro.REFERENCIAS) || (reloj % 100 == 0 && mostrarAciertos)) {
+                    registro.acierto(reloj, id, direccionVirtual);
+                }
+                reloj += aciertos;
+                turno += aciertos;
+                if (procesoActual.haTerminado()) {
+                    registrarProcesoTerminado(procesoActual, reloj - 1);
+                } else {
+                    listos.offer(procesoActual);
+                }
+            }
+        }
+        
+        // Las escrituras que quedaron en la cola también ocupan el dispositivo
+        tiempoSimulado = Math.max(reloj, dispositivo.vaciar());
+        turnosSimulados = turno;
+        if (monitor != null) {
+            monitor.publicar(procesos, turno);
+        }
+        registro.vaciar();
+        if (registro.habilitado(NivelRegistro.RESUMEN)) {
+            System.out.println("Simulación completada en " + turno + " turnos (tiempo simulado: " + tiempoSimulado + ").");
+        }
+    }
+    
+    /**
+     * Salta las rondas completas en que todos los procesos de la cola gastan aciertos adelantados
+     * Quita de la cola los procesos que terminan en la última de esas rondas
+     * @return Turno siguiente a las rondas saltadas
+     */
+    private long saltarRondas(Planificador colaProcesos, int[] adelantados, int[] largoRafaga,
+                              long[][] rafagas, long turno) {
+        int enCola = colaProcesos.tamano();
+        int rondas = Integer.MAX_VALUE;
+        for (Proceso proceso : colaProcesos) {
+            rondas = Math.min(rondas, adelantados[proceso.getId()]);
+        }
+        long turnoFinal = turno + (long) rondas * enCola;
+        
+        if (registro.habilitado(NivelRegistro.FALLOS)) {
+            // Mostrar los aciertos de las rondas saltadas que se mostrarían turno a turno
+            Proceso[] orden = new Proceso[enCola];
+            int posicion = 0;
+            for (Proceso proceso : colaProcesos) {
+                orden[posicion++] = proceso;
+            }
+            boolean todos = registro.habilitado(NivelRegistro.REFERENCIAS);
+            int paso = todos ? 1 : 100;
+            long primero = todos ? turno : (turno + 99) / 100 * 100;
+            for (long t = primero; t < turnoFinal; t += paso) {
+                int id = orden[(int) ((t - turno) % enCola)].getId();
+                int ronda = (int) ((t - turno) / enCola);
+                registro.acierto(t, id, rafagas[id][largoRafaga[id] - adelantados[id] + ronda]);
+            }
+        }
+        
+        // Dar una vuelta completa a la cola: los que no terminaron vuelven en el mismo orden
+        for (int posicion = 0; posicion < enCola; posicion++) {
+            Proceso proceso = colaProcesos.siguiente();
+            adelantados[proceso.getId()] -= rondas;
+            if (adelantados[proceso.getId()] == 0 && proceso.haTerminado()) {
+                registrarProcesoTerminado(proceso, turnoFinal - enCola + posicion);
+            } else {
+                colaProcesos.agregar(proceso);
+            }
+        }
+        return turnoFinal;
+    }
+    
+    /**
+     * Registra en JFR que un proceso procesó su última dirección en el turno dado
+     */
+    private void registrarProcesoTerminado(Proceso proceso, long turno) {
+        EventosJFR.ProcesoTerminado evento = new EventosJFR.ProcesoTerminado();
+        if (evento.shouldCommit()) {
+            evento.proceso = proceso.getId();
+            evento.turno = turno;
+            evento.referencias = proceso.getTotalReferencias();
+            evento.fallos = proceso.getTotalFallosPagina();
+            evento.accesosSWAP = proceso.getTotalAccesosSWAP();
+            evento.lecturasSWAP = proceso.getTotalLecturasSWAP();
+            evento.escriturasSWAP = proceso.getTotalEscriturasSWAP();
+            evento.commit();
+        }
     }
     
     /**
@@ -548,21 +1561,104 @@ public class SimuladorMemoriaVirtual {
             System.out.println("Fallas: " + proceso.getTotalFallosPagina());
             System.out.println("Hits: " + (proceso.getTotalReferencias() - proceso.getTotalFallosPagina()));
             System.out.println("SWAP: " + proceso.getTotalAccesosSWAP());
+            System.out.println("SWAP lecturas: " + proceso.getTotalLecturasSWAP());
+            System.out.println("SWAP escrituras: " + proceso.getTotalEscriturasSWAP());
+            if (dispositivo != null) {
+                System.out.println("Tiempo bloqueado: " + proceso.getTiempoBloqueado());
+            }
+            if (controlCarga != null) {
+                System.out.println("Suspensiones: " + proceso.getSuspensiones());
+                System.out.println("Turnos suspendido: " + proceso.getTurnosSuspendido());
+            }
+            if (proceso.getPrebusqueda() != null) {
+                System.out.println("Prebúsquedas: " + proceso.getTotalPrebusquedas());
+                System.out.println("Prebúsquedas útiles: " + proceso.getPrebusquedasUtiles());
+                System.out.println("Prebúsquedas inútiles: " + proceso.getPrebusquedasInutiles());
+            }
             System.out.println("Tasa fallas: " + String.format("%.4f", proceso.getTasaFallosPagina()));
             System.out.println("Tasa éxito: " + String.format("%.4f", proceso.getTasaAciertos()));
+            if (fallosOPT != null) {
+                FallosOPT optimo = fallosOPT[proceso.getId()];
+                System.out.println("Fallas OPT: " + optimo.getFallos());
+                System.out.println("SWAP OPT: " + optimo.getAccesosSWAP());
+                System.out.println("Tasa fallas OPT: " + String.format("%.4f", optimo.getTasaFallos()));
+            }
             System.out.println();
         }
         
         // Estadísticas globales
-        int totalReferencias = procesos.stream().mapToInt(Proceso::getTotalReferencias).sum();
-        int totalFallos = procesos.stream().mapToInt(Proceso::getTotalFallosPagina).sum();
-        int totalSWAP = procesos.stream().mapToInt(Proceso::getTotalAccesosSWAP).sum();
+        long totalReferencias = procesos.stream().mapToLong(Proceso::getTotalReferencias).sum();
+        long totalFallos = procesos.stream().mapToLong(Proceso::getTotalFallosPagina).sum();
+        long totalSWAP = procesos.stream().mapToLong(Proceso::getTotalAccesosSWAP).sum();
         
         System.out.println("=== ESTADÍSTICAS GLOBALES ===");
         System.out.println("Total de referencias: " + totalReferencias);
         System.out.println("Total de fallos de página: " + totalFallos);
         System.out.println("Total de accesos SWAP: " + totalSWAP);
+        System.out.println("Total de lecturas SWAP: " + procesos.stream().mapToLong(Proceso::getTotalLecturasSWAP).sum());
+        System.out.println("Total de escrituras SWAP: " + procesos.stream().mapToLong(Proceso::getTotalEscriturasSWAP).sum());
+        if (dispositivo != null) {
+            System.out.println("Tiempo simulado: " + tiempoSimulado);
+            System.out.println("Tiempo total bloqueado: " + procesos.stream().mapToLong(Proceso::getTiempoBloqueado).sum());
+            System.out.println("Lotes de lectura SWAP: " + dispositivo.getLotesLectura() + " (" + dispositivo.getPaginasLeidas() + " páginas)");
+            System.out.println("Lotes de escritura SWAP: " + dispositivo.getLotesEscritura() + " (" + dispositivo.getPaginasEscritas() + " páginas)");
+            System.out.println("Utilización del dispositivo SWAP: " + String.format("%.4f",
+                tiempoSimulado == 0 ? 0.0 : (double) dispositivo.getTiempoOcupado() / tiempoSimulado));
+        }
+        if (asignador != null) {
+            System.out.println("Reequilibrios PFF: " + asignador.getReequilibrios() + " (marcos movidos: " + asignador.getMarcosMovidos() + ")");
+        }
+        if (controlCarga != null) {
+            System.out.println("Total de suspensiones: " + controlCarga.getSuspensiones());
+            System.out.println("Total de turnos suspendidos: " + procesos.stream().mapToLong(Proceso::getTurnosSuspendido).sum());
+            System.out.println("Referencias por turno: " + String.format("%.4f",
+                turnosSimulados == 0 ? 0.0 : (double) totalReferencias / turnosSimulados));
+        }
+        if (!PREBUSQUEDA_POR_DEFECTO.equalsIgnoreCase(prebusqueda)) {
+            System.out.println("Total de prebúsquedas útiles: " + procesos.stream().mapToLong(Proceso::getPrebusquedasUtiles).sum());
+            System.out.println("Total de prebúsquedas inútiles: " + procesos.stream().mapToLong(Proceso::getPrebusquedasInutiles).sum());
+        }
         System.out.println("Tasa global de fallos: " + String.format("%.4f", (double) totalFallos / totalReferencias));
         System.out.println("Tasa global de aciertos: " + String.format("%.4f", (double) (totalReferencias - totalFallos) / totalReferencias));
+        if (fallosOPT != null) {
+            long totalFallosOPT = Arrays.stream(fallosOPT).mapToLong(FallosOPT::getFallos).sum();
+            System.out.println("Total de fallos OPT: " + totalFallosOPT);
+            System.out.println("Tasa global de fallos OPT: " + String.format("%.4f", (double) totalFallosOPT / totalReferencias));
+        }
+    }
+    
+    /**
+     * Un punto del barrido: la combinación de parámetros de una simulación
+     */
+    private static class PuntoBarrido {
+        final int tp;
+        final int nproc;
+        final int marcos;
+        final int[] tamanos;
+        final String politica;
+        final String reemplazo;
+        final String asignacion;
+        final String control;
+        final String planificador;
+        final int quantum;
+        final String prebusqueda;
+        final int ventana;
+        
+        PuntoBarrido(int tp, int nproc, int marcos, int[] tamanos, String politica, String reemplazo,
+                     String asignacion, String control, String planificador, int quantum,
+                     String prebusqueda, int ventana) {
+            this.tp = tp;
+            this.nproc = nproc;
+            this.marcos = marcos;
+            this.tamanos = tamanos;
+            this.politica = politica;
+            this.reemplazo = reemplazo;
+            this.asignacion = asignacion;
+            this.control = control;
+            this.planificador = planificador;
+            this.quantum = quantum;
+            this.prebusqueda = prebusqueda;
+            this.ventana = ventana;
+        }
     }
 }
@@ -0,0 +1,121 @@
+package benchmarks;
+
+import java.io.*;
+import java.lang.invoke.*;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Acceso a las clases del simulador, que están en el paquete por defecto
+ * 
+ * JMH no admite benchmarks en el paquete por defecto y desde un paquete con
+ * nombre no se pueden importar sus clases, así que se llaman mediante
+ * MethodHandles estáticos y finales, que el JIT compila como llamadas directas.
+ * Los tipos del simulador se ven como Object.
+ */
+final class AccesoSimulador {
+    
+    static final MethodHandle CREAR_POLITICA;         // (String nombre, int totalMarcos) -> politica
+    static final MethodHandle NUEVO_GESTOR;           // (int tamanoPagina, int totalMarcos, Object politica) -> gestor
+    static final MethodHandle ASIGNAR_MARCOS;         // (Object gestor, int numeroProcesos, int idProceso) -> Set
+    static final MethodHandle CARGAR_PAGINA;          // (Object gestor, int pagina, int idProceso) -> marco
+    static final MethodHandle NUEVO_CURSOR_TEXTO;     // (String archivo, int tamanoPagina) -> fuente
+    static final MethodHandle NUEVO_CURSOR_BINARIO;   // (String archivo, int tamanoPagina) -> fuente
+    static final MethodHandle HAY_MAS;                // (Object fuente) -> boolean
+    static final MethodHandle ACTUAL;                 // (Object fuente) -> long
+    static final MethodHandle AVANZAR;                // (Object fuente) -> void
+    static final MethodHandle CERRAR;                 // (Object fuente) -> void
+    static final MethodHandle SIMULAR_PUNTO;          // (int tp, int nproc, int marcos, int[] tamanos, String politica, String reemplazo,
+                                                      //  String asignacion, String control, String planificador, int quantum,
+                                                      //  String prebusqueda, int ventana) -> fila CSV
+    
+    private static final MethodHandle NUEVO_SIMULADOR;       // () -> simulador
+    private static final MethodHandle FIJAR_TAMANO_PAGINA;   // (Object simulador, int tamanoPagina) -> void
+    private static final MethodHandle GENERAR_REFERENCIAS;   // (Object simulador, Object escritor, int filas, int columnas) -> void
+    private static final MethodHandle NUEVO_ESCRITOR_TEXTO;  // (String archivo, int tp, int nf, int nc, long nr, int np) -> escritor
+    private static final MethodHandle NUEVO_ESCRITOR_BINARIO;
+    private static final MethodHandle NUMERO_REFERENCIAS;    // (int filas, int columnas) -> long
+    private static final MethodHandle NUMERO_PAGINAS;        // (int filas, int columnas, int tamanoPagina) -> int
+    
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> politica = Class.forName("PoliticaReemplazo");
+            Class<?> gestor = Class.forName("GestorMemoria");
+            Class<?> fuente = Class.forName("FuenteDirecciones");
+            Class<?> escritor = Class.forName("EscritorTraza");
+            Class<?> generador = Class.forName("GeneradorDirecciones");
+            Class<?> simulador = Class.forName("SimuladorMemoriaVirtual");
+            MethodHandles.Lookup privado = MethodHandles.privateLookupIn(simulador, lookup);
+            MethodType escritorNuevo = methodType(void.class, String.class, int.class, int.class, int.class, long.class, int.class);
+            
+            CREAR_POLITICA = generico(lookup.findStatic(politica, "crear", methodType(politica, String.class, int.class)));
+            NUEVO_GESTOR = generico(lookup.findConstructor(gestor, methodType(void.class, int.class, int.class, politica)));
+            ASIGNAR_MARCOS = generico(lookup.findVirtual(gestor, "asignarMarcosEquitativos",
+                methodType(java.util.Set.class, int.class, int.class)));
+            CARGAR_PAGINA = generico(lookup.findVirtual(gestor, "cargarPagina", methodType(int.class, int.class, int.class)));
+            NUEVO_CURSOR_TEXTO = generico(lookup.findConstructor(Class.forName("CursorTraza"),
+                methodType(void.class, String.class, int.class)));
+            NUEVO_CURSOR_BINARIO = generico(lookup.findConstructor(Class.forName("CursorTrazaBinaria"),
+                methodType(void.class, String.class, int.class)));
+            HAY_MAS = generico(lookup.findVirtual(fuente, "hayMas", methodType(boolean.class)));
+            ACTUAL = generico(lookup.findVirtual(fuente, "actual", methodType(long.class)));
+            AVANZAR = generico(lookup.findVirtual(fuente, "avanzar", methodType(void.class)));
+            CERRAR = generico(lookup.findVirtual(fuente, "cerrar", methodType(void.class)));
+            SIMULAR_PUNTO = privado.findStatic(simulador, "simularPuntoBarrido",
+                methodType(String.class, int.class, int.class, int.class, int[].class, String.class,
+                           String.class, String.class, String.class, String.class, int.class, String.class, int.class));
+            
+            NUEVO_SIMULADOR = generico(lookup.findConstructor(simulador, methodType(void.class)));
+            FIJAR_TAMANO_PAGINA = generico(privado.findSetter(simulador, "tamanoPagina", int.class));
+            GENERAR_REFERENCIAS = generico(privado.findVirtual(simulador, "generarReferenciasFormatoAnexo",
+                methodType(void.class, escritor, int.class, int.class)));
+            NUEVO_ESCRITOR_TEXTO = generico(lookup.findConstructor(Class.forName("EscritorTrazaTexto"), escritorNuevo));
+            NUEVO_ESCRITOR_BINARIO = generico(lookup.findConstructor(Class.forName("EscritorTrazaBinaria"), escritorNuevo));
+            NUMERO_REFERENCIAS = lookup.findStatic(generador, "calcularNumeroReferencias",
+                methodType(long.class, int.class, int.class));
+            NUMERO_PAGINAS = lookup.findStatic(generador, "calcularNumeroPaginas",
+                methodType(int.class, int.class, int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private AccesoSimulador() {
+    }
+    
+    /**
+     * Cambia los tipos del simulador por Object para poder usar invokeExact desde los benchmarks
+     */
+    private static MethodHandle generico(MethodHandle metodo) {
+        return metodo.asType(metodo.type().erase());
+    }
+    
+    /**
+     * Crea un gestor de memoria con la política dada y todos sus marcos asignados al proceso 0
+     */
+    static Object crearGestor(int tamanoPagina, int marcos, String politica) throws Throwable {
+        Object reemplazo = (Object) CREAR_POLITICA.invokeExact((Object) politica, marcos);
+        Object gestor = (Object) NUEVO_GESTOR.invokeExact(tamanoPagina, marcos, reemplazo);
+        Object asignados = (Object) ASIGNAR_MARCOS.invokeExact(gestor, 1, 0);
+        return gestor;
+    }
+    
+    /**
+     * Escribe el archivo de un proceso de matrices n x n tal como lo hace la Opción 1
+     */
+    static void generarTraza(String archivo, boolean binario, int tamanoPagina, int n) throws Throwable {
+        Object simulador = (Object) NUEVO_SIMULADOR.invokeExact();
+        FIJAR_TAMANO_PAGINA.invokeExact(simulador, tamanoPagina);
+        long referencias = (long) NUMERO_REFERENCIAS.invokeExact(n, n);
+        int paginas = (int) NUMERO_PAGINAS.invokeExact(n, n, tamanoPagina);
+        Object escritor = binario
+            ? (Object) NUEVO_ESCRITOR_BINARIO.invokeExact((Object) archivo, tamanoPagina, n, n, referencias, paginas)
+            : (Object) NUEVO_ESCRITOR_TEXTO.invokeExact((Object) archivo, tamanoPagina, n, n, referencias, paginas);
+        try {
+            GENERAR_REFERENCIAS.invokeExact(simulador, escritor, n, n);
+        } finally {
+            ((Closeable) escritor).close();
+        }
+    }
+}
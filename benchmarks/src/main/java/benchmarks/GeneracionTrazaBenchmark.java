@@ -0,0 +1,44 @@
+package benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Escritura del archivo de un proceso (generarReferenciasFormatoAnexo de la Opción 1)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneracionTrazaBenchmark {
+    
+    @Param({"256", "4096"})
+    public int tamanoPagina;
+    
+    @Param({"100", "500"})
+    public int tamanoMatriz;
+    
+    @Param({"texto", "binario"})
+    public String formato;
+    
+    private File archivo;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        archivo = File.createTempFile("proc", formato.equals("binario") ? ".bin" : ".txt");
+    }
+    
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        archivo.delete();
+    }
+    
+    @Benchmark
+    public void generar() throws Throwable {
+        AccesoSimulador.generarTraza(archivo.getPath(), formato.equals("binario"), tamanoPagina, tamanoMatriz);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * GestorMemoria.cargarPagina en sus dos caminos: la página ya está cargada
+ * (acierto, solo actualiza la política) o hay que reemplazar una (fallo)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GestorMemoriaBenchmark {
+    
+    @Param({"256", "4096"})
+    public int tamanoPagina;
+    
+    @Param({"8", "64", "512"})
+    public int marcos;
+    
+    @Param({"lru", "fifo", "clock", "segunda"})
+    public String politica;
+    
+    private Object gestor;
+    private int paginaAcierto;
+    private int paginaFallo;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws Throwable {
+        gestor = AccesoSimulador.crearGestor(tamanoPagina, marcos, politica);
+        for (int pagina = 0; pagina < marcos; pagina++) {
+            int marco = (int) AccesoSimulador.CARGAR_PAGINA.invokeExact(gestor, pagina, 0);
+        }
+        paginaAcierto = 0;
+        paginaFallo = marcos;
+    }
+    
+    /**
+     * Recorre en ciclo las páginas cargadas: todas son aciertos
+     */
+    @Benchmark
+    public int acierto() throws Throwable {
+        int pagina = paginaAcierto;
+        paginaAcierto = pagina + 1 == marcos ? 0 : pagina + 1;
+        return (int) AccesoSimulador.CARGAR_PAGINA.invokeExact(gestor, pagina, 0);
+    }
+    
+    /**
+     * Recorre en ciclo el doble de páginas que marcos: con cualquiera de las políticas todas son fallos
+     */
+    @Benchmark
+    public int fallo() throws Throwable {
+        int pagina = paginaFallo;
+        paginaFallo = pagina + 1 == 2 * marcos ? 0 : pagina + 1;
+        return (int) AccesoSimulador.CARGAR_PAGINA.invokeExact(gestor, pagina, 0);
+    }
+}
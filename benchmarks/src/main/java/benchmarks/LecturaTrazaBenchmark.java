@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Lectura completa del archivo de un proceso con CursorTraza (texto) o CursorTrazaBinaria
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LecturaTrazaBenchmark {
+    
+    @Param({"256", "4096"})
+    public int tamanoPagina;
+    
+    @Param({"100", "500"})
+    public int tamanoMatriz;
+    
+    @Param({"texto", "binario"})
+    public String formato;
+    
+    private File archivo;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws Throwable {
+        archivo = File.createTempFile("proc", formato.equals("binario") ? ".bin" : ".txt");
+        AccesoSimulador.generarTraza(archivo.getPath(), formato.equals("binario"), tamanoPagina, tamanoMatriz);
+    }
+    
+    @TearDown(Level.Trial)
+    public void limpiar() {
+        archivo.delete();
+    }
+    
+    @Benchmark
+    public long leer() throws Throwable {
+        Object fuente = formato.equals("binario")
+            ? (Object) AccesoSimulador.NUEVO_CURSOR_BINARIO.invokeExact((Object) archivo.getPath(), tamanoPagina)
+            : (Object) AccesoSimulador.NUEVO_CURSOR_TEXTO.invokeExact((Object) archivo.getPath(), tamanoPagina);
+        long suma = 0;
+        while ((boolean) AccesoSimulador.HAY_MAS.invokeExact(fuente)) {
+            suma += (long) AccesoSimulador.ACTUAL.invokeExact(fuente);
+            AccesoSimulador.AVANZAR.invokeExact(fuente);
+        }
+        AccesoSimulador.CERRAR.invokeExact(fuente);
+        return suma;
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Simulación completa (cargarProcesos y simularEjecucion), con las referencias
+ * generadas al vuelo y sin mensajes, como un punto del barrido de la Opción 3.
+ * Todos los procesos usan matrices del mismo tamaño
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulacionBenchmark {
+    
+    @Param({"256", "1024", "4096"})
+    public int tamanoPagina;
+    
+    @Param({"4", "16", "64"})
+    public int marcos;
+    
+    @Param({"100", "300"})
+    public int tamanoMatriz;
+    
+    @Param({"lru"})
+    public String politica;
+    
+    @Param({"1"})
+    public int procesos;
+    
+    @Param({"local"})
+    public String reemplazo;
+    
+    @Param({"rr"})
+    public String planificador;
+    
+    @Param({"1"})
+    public int quantum;
+    
+    private int[] tamanos;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        tamanos = new int[procesos];
+        Arrays.fill(tamanos, tamanoMatriz);
+    }
+    
+    @Benchmark
+    public String simular() throws Throwable {
+        return (String) AccesoSimulador.SIMULAR_PUNTO.invokeExact(tamanoPagina, procesos, marcos, tamanos, politica,
+                                                                  reemplazo, "equitativa", "no", planificador, quantum, "ninguna", 0);
+    }
+}
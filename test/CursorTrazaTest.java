@@ -0,0 +1,103 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CursorTraza frente al lector con Scanner y split que tenía el simulador antes
+ * del intérprete sobre bytes, con las trazas de la raíz del repositorio
+ */
+class CursorTrazaTest {
+    
+    private static final String[] TRAZAS = {"proc0.txt", "proc1.txt", "proc2.txt", "proc3.txt", "proc4.txt"};
+    
+    @TempDir
+    Path temporal;
+    
+    @Test
+    void mismasReferenciasQueElLectorAnterior() throws IOException {
+        for (String traza : TRAZAS) {
+            int tamanoPagina = leerTP(traza);
+            List<String> esperadas = leerConScanner(traza);
+            List<String> leidas = leerConCursor(traza, tamanoPagina);
+            assertEquals(esperadas.size(), leidas.size(), traza + ": cantidad de referencias");
+            for (int i = 0; i < esperadas.size(); i++) {
+                assertEquals(esperadas.get(i), leidas.get(i), traza + ": referencia " + i);
+            }
+        }
+    }
+    
+    @Test
+    void lineaMalFormadaIndicaLineaYColumna() throws IOException {
+        Path traza = temporal.resolve("mal.txt");
+        Files.write(traza, Arrays.asList("TP=256", "NF=2", "NC=2", "NR=12", "NP=1",
+                                         "M1:[0-0],0,0,r", "M1:[0-1],12,x4,r"), StandardCharsets.UTF_8);
+        IOException error = assertThrows(IOException.class, () -> new CursorTraza(traza.toString(), 256));
+        assertTrue(error.getMessage().contains("línea 7 mal formada (columna 13)"), error.getMessage());
+    }
+    
+    @Test
+    void operacionDistintaDeRoWEsUnError() throws IOException {
+        Path traza = temporal.resolve("operacion.txt");
+        Files.write(traza, Arrays.asList("TP=256", "NF=2", "NC=2", "NR=12", "NP=1",
+                                         "M2:[1-1],3,17,x"), StandardCharsets.UTF_8);
+        IOException error = assertThrows(IOException.class, () -> new CursorTraza(traza.toString(), 256));
+        assertTrue(error.getMessage().contains("línea 6 mal formada (columna 15)"), error.getMessage());
+    }
+    
+    /**
+     * TP del encabezado de la traza
+     */
+    private static int leerTP(String traza) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(Paths.get(traza), StandardCharsets.UTF_8)) {
+            return Integer.parseInt(lector.readLine().substring("TP=".length()).trim());
+        }
+    }
+    
+    /**
+     * Lector anterior: salta las 5 líneas del encabezado y parte con split cada línea
+     * con comas; se conservan además la matriz y la operación
+     */
+    private static List<String> leerConScanner(String traza) throws IOException {
+        List<String> referencias = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(traza), "UTF-8")) {
+            for (int i = 0; i < 5; i++) {
+                if (scanner.hasNextLine()) {
+                    scanner.nextLine();
+                }
+            }
+            while (scanner.hasNextLine()) {
+                String linea = scanner.nextLine();
+                if (linea.contains(",")) {
+                    String[] partes = linea.split(",");
+                    int pagina = Integer.parseInt(partes[1]);
+                    int offset = Integer.parseInt(partes[2]);
+                    int matriz = Integer.parseInt(partes[0].substring(1, partes[0].indexOf(':')));
+                    referencias.add(pagina + "," + offset + "," + matriz + "," + partes[3]);
+                }
+            }
+        }
+        return referencias;
+    }
+    
+    private static List<String> leerConCursor(String traza, int tamanoPagina) throws IOException {
+        List<String> referencias = new ArrayList<>();
+        CursorTraza cursor = new CursorTraza(traza, tamanoPagina);
+        try {
+            while (cursor.hayMas()) {
+                int pagina = cursor.paginaActual();
+                long offset = cursor.actual() - (long) pagina * tamanoPagina;
+                referencias.add(pagina + "," + offset + "," + cursor.getMatriz() + "," + (cursor.esEscritura() ? "w" : "r"));
+                cursor.avanzar();
+            }
+        } finally {
+            cursor.cerrar();
+        }
+        return referencias;
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La curva de una sola pasada frente a GestorMemoria con LRU en 1, 2, 4, ... marcos
+ */
+class CurvaFallosLRUTest {
+    
+    private static final String[] TRAZAS = {"proc0.txt", "proc1.txt", "proc2.txt", "proc3.txt", "proc4.txt"};
+    
+    @Test
+    void coincideConGestorEnLasTrazas() throws Exception {
+        for (String traza : TRAZAS) {
+            int tamanoPagina = leerTP(traza);
+            CurvaFallosLRU curva = CurvaFallosLRU.calcular(new CursorTraza(traza, tamanoPagina), tamanoPagina);
+            List<String> diferencias = curva.verificar(() -> new CursorTraza(traza, tamanoPagina), tamanoPagina);
+            assertEquals(Collections.emptyList(), diferencias, traza);
+        }
+    }
+    
+    @Test
+    void coincideConGestorEnMatricesGeneradas() throws Exception {
+        for (int tamanoPagina : new int[] {64, 256, 1024}) {
+            CurvaFallosLRU curva = CurvaFallosLRU.calcular(new GeneradorDirecciones(30, 30, tamanoPagina), tamanoPagina);
+            List<String> diferencias = curva.verificar(() -> new GeneradorDirecciones(30, 30, tamanoPagina), tamanoPagina);
+            assertEquals(Collections.emptyList(), diferencias, "TP=" + tamanoPagina);
+        }
+    }
+    
+    @Test
+    void fallosNoAumentanConMasMarcos() throws Exception {
+        int tamanoPagina = leerTP("proc4.txt");
+        CurvaFallosLRU curva = CurvaFallosLRU.calcular(new CursorTraza("proc4.txt", tamanoPagina), tamanoPagina);
+        for (int marcos = 1; marcos < curva.getPaginasDistintas(); marcos++) {
+            assertTrue(curva.getFallos(marcos + 1) <= curva.getFallos(marcos), "marcos=" + marcos);
+        }
+        assertEquals(curva.getFallosFrios(), curva.getFallos(curva.getPaginasDistintas()));
+    }
+    
+    /**
+     * TP del encabezado de la traza
+     */
+    private static int leerTP(String traza) throws Exception {
+        CursorTraza cursor = new CursorTraza(traza, 1);
+        try {
+            return cursor.getTamanoPaginaArchivo();
+        } finally {
+            cursor.cerrar();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A quién se cuenta la escritura SWAP de una página modificada que se reemplaza
+ */
+class GestorMemoriaTest {
+    
+    private static final int TP = 256;
+    
+    @Test
+    void escrituraDePaginaPropiaLaCuentaElProcesoDelFallo() {
+        GestorMemoria gestor = new GestorMemoria(TP, 1);
+        Proceso proceso = new Proceso(0, new Referencias(2, new int[] {0, 1}, new boolean[] {true, false}));
+        proceso.asignarMarcos(gestor.asignarMarcosEquitativos(1, 0));
+        
+        referenciar(proceso, gestor);
+        referenciar(proceso, gestor);
+        
+        assertFalse(proceso.paginaEnMemoria(0));
+        assertEquals(2, proceso.getTotalLecturasSWAP());
+        assertEquals(1, proceso.getTotalEscriturasSWAP());
+    }
+    
+    @Test
+    void conReemplazoGlobalLaEscrituraLaCuentaElDueno() {
+        GestorMemoria gestor = new GestorMemoria(TP, 1);
+        Proceso escritor = new Proceso(0, new Referencias(1, new int[] {0}, new boolean[] {true}));
+        Proceso lector = new Proceso(1, new Referencias(1, new int[] {0}, new boolean[] {false}));
+        gestor.usarReemplazoGlobal(Arrays.asList(escritor, lector));
+        
+        referenciar(escritor, gestor);
+        referenciar(lector, gestor);
+        
+        assertFalse(escritor.paginaEnMemoria(0));
+        assertTrue(lector.paginaEnMemoria(0));
+        assertEquals(1, escritor.getTotalEscriturasSWAP());
+        assertEquals(0, lector.getTotalEscriturasSWAP());
+        assertEquals(1, lector.getTotalLecturasSWAP());
+    }
+    
+    /**
+     * Procesa la próxima referencia del proceso: si falla, carga la página y la repite como acierto
+     */
+    private static void referenciar(Proceso proceso, GestorMemoria gestor) {
+        int pagina = proceso.obtenerPaginaActual();
+        if (!proceso.paginaEnMemoria(pagina)) {
+            assertNotEquals(-1, proceso.atenderFallo(pagina, gestor));
+        }
+        assertEquals(1, proceso.avanzarAciertos(1, gestor, null));
+    }
+    
+    /**
+     * Referencias fijas, una por página dada, al inicio de cada página
+     */
+    private static class Referencias implements FuenteDirecciones {
+        private final int numeroPaginas;
+        private final int[] paginas;
+        private final boolean[] escrituras;
+        private int indice;
+        
+        Referencias(int numeroPaginas, int[] paginas, boolean[] escrituras) {
+            this.numeroPaginas = numeroPaginas;
+            this.paginas = paginas;
+            this.escrituras = escrituras;
+        }
+        
+        public boolean hayMas() { return indice < paginas.length; }
+        public long actual() { return (long) paginas[indice] * TP; }
+        public int paginaActual() { return paginas[indice]; }
+        public boolean esEscritura() { return escrituras[indice]; }
+        public int getMatriz() { return 1; }
+        public void avanzar() { indice++; }
+        public long getNumeroReferencias() { return paginas.length; }
+        public int getNumeroPaginas() { return numeroPaginas; }
+        public void cerrar() { }
+    }
+}
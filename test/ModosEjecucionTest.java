@@ -0,0 +1,151 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La Opción 2 con cada modo de ejecución frente a EJECUCION=turnos, que procesa
+ * una dirección por turno: con REGISTRO=referencias (salvo que las opciones
+ * pidan otro nivel) la salida completa, con cada fallo y cada acierto con su
+ * turno y las estadísticas, debe ser idéntica
+ *
+ * Cada simulación corre en su propia JVM, en un directorio con las trazas
+ * proc0.txt…proc4.txt de la raíz y su config_opcion2.txt.
+ */
+class ModosEjecucionTest {
+    
+    private static final String[] TRAZAS = {"proc0.txt", "proc1.txt", "proc2.txt", "proc3.txt", "proc4.txt"};
+    private static final String REFERENCIA = "turnos";
+    private static final long SEGUNDOS_POR_SIMULACION = 120;
+    
+    @TempDir
+    Path temporal;
+    
+    /**
+     * Configuraciones: marcos totales (para 5 procesos) y opciones adicionales
+     */
+    static Stream<Arguments> configuraciones() {
+        List<Arguments> lista = new ArrayList<>();
+        for (String politica : new String[] {"lru", "fifo", "clock", "segunda"}) {
+            for (int marcos : new int[] {5, 10, 20}) {
+                lista.add(Arguments.of(marcos, "POLITICA=" + politica));
+            }
+        }
+        lista.add(Arguments.of(10, "QUANTUM=4"));
+        lista.add(Arguments.of(10, "PLANIFICADOR=restantes QUANTUM=3"));
+        lista.add(Arguments.of(10, "PLANIFICADOR=fallos POLITICA=clock"));
+        lista.add(Arguments.of(10, "ASIGNACION=pff INTERVALO=200"));
+        lista.add(Arguments.of(5, "CONTROL_CARGA=si INTERVALO=200"));
+        lista.add(Arguments.of(10, "REEMPLAZO=global POLITICA=fifo"));
+        lista.add(Arguments.of(10, "PREBUSQUEDA=fija VENTANA=2"));
+        lista.add(Arguments.of(10, "PREBUSQUEDA=fija REEMPLAZO=global"));
+        return lista.stream();
+    }
+    
+    @ParameterizedTest(name = "{0} marcos, {1}")
+    @MethodSource("configuraciones")
+    void eventosIgualATurnos(int marcos, String opciones) throws Exception {
+        compararConTurnos("eventos", marcos, opciones);
+    }
+    
+    /**
+     * Configuraciones en que EJECUCION=paralela simula los procesos por separado,
+     * con los dos niveles de registro que arman mensajes por turno
+     */
+    static Stream<Arguments> configuracionesParalelas() {
+        List<Arguments> lista = new ArrayList<>();
+        for (String politica : new String[] {"lru", "fifo", "clock", "segunda"}) {
+            for (int marcos : new int[] {5, 10, 20}) {
+                for (String nivel : new String[] {"fallos", "referencias"}) {
+                    lista.add(Arguments.of(marcos, "POLITICA=" + politica + " REGISTRO=" + nivel));
+                }
+            }
+        }
+        lista.add(Arguments.of(10, "PREBUSQUEDA=fija VENTANA=2 REGISTRO=fallos"));
+        return lista.stream();
+    }
+    
+    @ParameterizedTest(name = "{0} marcos, {1}")
+    @MethodSource("configuracionesParalelas")
+    void paralelaIgualATurnos(int marcos, String opciones) throws Exception {
+        compararConTurnos("paralela", marcos, opciones);
+    }
+    
+    /**
+     * Configuraciones de EJECUCION=hilos: con reemplazo local los hilos adelantan ráfagas
+     * de aciertos, con reemplazo global procesan una referencia por turno
+     */
+    static Stream<Arguments> configuracionesHilos() {
+        List<Arguments> lista = new ArrayList<>();
+        for (String politica : new String[] {"lru", "fifo", "clock", "segunda"}) {
+            for (int marcos : new int[] {5, 10, 20}) {
+                lista.add(Arguments.of(marcos, "POLITICA=" + politica));
+                lista.add(Arguments.of(marcos, "POLITICA=" + politica + " REEMPLAZO=global"));
+            }
+        }
+        lista.add(Arguments.of(10, "REGISTRO=fallos"));
+        lista.add(Arguments.of(10, "PREBUSQUEDA=fija VENTANA=2"));
+        return lista.stream();
+    }
+    
+    @ParameterizedTest(name = "{0} marcos, {1}")
+    @MethodSource("configuracionesHilos")
+    void hilosIgualATurnos(int marcos, String opciones) throws Exception {
+        compararConTurnos("hilos", marcos, opciones);
+    }
+    
+    /**
+     * Simula con el modo dado y con EJECUCION=turnos y compara las dos salidas línea por línea
+     */
+    private void compararConTurnos(String modo, int marcos, String opciones) throws Exception {
+        List<String> esperada = simular(REFERENCIA, marcos, opciones);
+        List<String> obtenida = simular(modo, marcos, opciones);
+        assertTrue(esperada.stream().anyMatch(linea -> linea.startsWith("Simulación completada en")),
+            "La simulación por turnos no terminó:\n" + String.join("\n", esperada.subList(Math.max(0, esperada.size() - 20), esperada.size())));
+        for (int i = 0; i < Math.min(esperada.size(), obtenida.size()); i++) {
+            assertEquals(esperada.get(i), obtenida.get(i), "EJECUCION=" + modo + ", línea " + (i + 1));
+        }
+        assertEquals(esperada.size(), obtenida.size(), "EJECUCION=" + modo + ": cantidad de líneas");
+    }
+    
+    /**
+     * Ejecuta la Opción 2 en una JVM aparte y devuelve su salida
+     */
+    private List<String> simular(String modo, int marcos, String opciones) throws Exception {
+        Path directorio = temporal.resolve(modo);
+        Files.createDirectories(directorio);
+        for (String traza : TRAZAS) {
+            Files.copy(Paths.get(traza), directorio.resolve(traza), StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<String> configuracion = new ArrayList<>(Arrays.asList("256", "5", String.valueOf(marcos),
+                                                                  "REGISTRO=referencias", "EJECUCION=" + modo));
+        configuracion.addAll(Arrays.asList(opciones.split(" ")));
+        Files.write(directorio.resolve("config_opcion2.txt"), configuracion, StandardCharsets.UTF_8);
+        
+        Path salida = directorio.resolve("salida.txt");
+        Process proceso = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                                             "-Dfile.encoding=UTF-8", "-cp", System.getProperty("java.class.path"),
+                                             "SimuladorMemoriaVirtual")
+            .directory(directorio.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(salida.toFile())
+            .start();
+        try (OutputStream entrada = proceso.getOutputStream()) {
+            entrada.write("2\n".getBytes(StandardCharsets.UTF_8));
+        }
+        if (!proceso.waitFor(SEGUNDOS_POR_SIMULACION, TimeUnit.SECONDS)) {
+            proceso.destroyForcibly();
+            fail("EJECUCION=" + modo + " no terminó en " + SEGUNDOS_POR_SIMULACION + " s");
+        }
+        return Files.readAllLines(salida, StandardCharsets.UTF_8);
+    }
+}
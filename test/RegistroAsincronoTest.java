@@ -0,0 +1,49 @@
+import java.io.*;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RegistroAsincrono cuando su hilo escritor muere: la simulación no debe quedarse esperando
+ */
+class RegistroAsincronoTest {
+    
+    @Test
+    void siElEscritorMuereRegistrarFallaEnVezDeBloquearse() {
+        RegistroAsincrono registro = new RegistroAsincrono(new PrintStream(new SalidaRota()), NivelRegistro.REFERENCIAS);
+        
+        IllegalStateException error = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(IllegalStateException.class, () -> {
+                for (long turno = 0; ; turno++) {
+                    registro.acierto(turno, 0, turno);
+                }
+            }));
+        assertInstanceOf(UncheckedIOException.class, error.getCause());
+    }
+    
+    @Test
+    void siElEscritorMuereVaciarFalla() {
+        RegistroAsincrono registro = new RegistroAsincrono(new PrintStream(new SalidaRota()), NivelRegistro.REFERENCIAS);
+        registro.acierto(0, 0, 0);
+        
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(IllegalStateException.class, registro::vaciar));
+    }
+    
+    /**
+     * Salida que falla en cada escritura con una excepción que PrintStream no atrapa
+     */
+    private static class SalidaRota extends OutputStream {
+        @Override
+        public void write(int b) {
+            throw new UncheckedIOException(new IOException("disco lleno"));
+        }
+        
+        @Override
+        public void write(byte[] b, int inicio, int cantidad) {
+            write(0);
+        }
+    }
+}